@@ -0,0 +1,99 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.security;
+
+import com.hivemq.spi.callback.security.authorization.AuthorizationBehaviour;
+import com.hivemq.spi.callback.security.authorization.AuthorizationResult;
+import com.hivemq.spi.message.QoS;
+import com.hivemq.spi.topic.MqttTopicPermission;
+import com.hivemq.spi.topic.ParsedTopic;
+import com.hivemq.spi.topic.TopicShape;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.hivemq.spi.topic.MqttTopicPermission.TYPE;
+
+/**
+ * Evaluates PUBLISHes and subscriptions with the {@link AuthorizationEvaluator}, once with the plain
+ * list of permissions and once with a compiled {@link PermissionIndex}.
+ * Only the last permission matches the topic.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthorizationEvaluatorBenchmark {
+
+    @Param({"EXACT", "SINGLE_LEVEL_WILDCARDS", "MULTI_LEVEL_WILDCARD", "DEEP"})
+    public TopicShape shape;
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int size;
+
+    private AuthorizationResult authorizationResult;
+    private PermissionIndex permissionIndex;
+    private String topic;
+    private ParsedTopic parsedTopic;
+
+    @Setup
+    public void setUp() {
+        final List<MqttTopicPermission> permissions = shape.permissions(size, TYPE.ALLOW);
+        authorizationResult = new AuthorizationResult() {
+            @Override
+            public List<MqttTopicPermission> getMqttTopicPermissions() {
+                return permissions;
+            }
+
+            @Override
+            public AuthorizationBehaviour getDefaultBehaviour() {
+                return AuthorizationBehaviour.DENY;
+            }
+        };
+        permissionIndex = PermissionIndex.of(authorizationResult);
+        topic = shape.lastTopic(size);
+        parsedTopic = ParsedTopic.of(topic);
+    }
+
+    @Benchmark
+    public AuthorizationBehaviour publish_list() {
+        return AuthorizationEvaluator.checkPublish(topic, QoS.AT_LEAST_ONCE, false, authorizationResult);
+    }
+
+    @Benchmark
+    public AuthorizationBehaviour publish_list_parsed_topic() {
+        return AuthorizationEvaluator.checkPublish(parsedTopic, QoS.AT_LEAST_ONCE, false, authorizationResult);
+    }
+
+    @Benchmark
+    public AuthorizationBehaviour publish_index() {
+        return AuthorizationEvaluator.checkPublish(topic, QoS.AT_LEAST_ONCE, false, permissionIndex);
+    }
+
+    @Benchmark
+    public AuthorizationBehaviour subscribe_list() {
+        return AuthorizationEvaluator.checkSubscription(topic, QoS.AT_LEAST_ONCE, authorizationResult);
+    }
+
+    @Benchmark
+    public AuthorizationBehaviour subscribe_index() {
+        return AuthorizationEvaluator.checkSubscription(topic, QoS.AT_LEAST_ONCE, permissionIndex);
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.topic;
+
+import com.hivemq.spi.message.QoS;
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.hivemq.spi.topic.MqttTopicPermission.ACTIVITY;
+import static com.hivemq.spi.topic.MqttTopicPermission.TYPE;
+
+/**
+ * Calls {@link MqttTopicPermission#implies} for every permission of a list until the first one matches,
+ * the way a linear authorization works. Only the last permission matches the topic.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MqttTopicPermissionBenchmark {
+
+    @Param({"EXACT", "SINGLE_LEVEL_WILDCARDS", "MULTI_LEVEL_WILDCARD", "DEEP"})
+    public TopicShape shape;
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int size;
+
+    private List<MqttTopicPermission> permissions;
+    private String topic;
+    private ParsedTopic parsedTopic;
+    private int accessMask;
+
+    @Setup
+    public void setUp() {
+        permissions = shape.permissions(size, TYPE.ALLOW);
+        topic = shape.lastTopic(size);
+        parsedTopic = ParsedTopic.of(topic);
+        accessMask = MqttTopicPermission.accessMask(QoS.AT_LEAST_ONCE, ACTIVITY.PUBLISH);
+    }
+
+    @Benchmark
+    public MqttTopicPermission implies_split_topic() {
+        final String[] splitTopic = StringUtils.splitPreserveAllTokens(topic, "/");
+        for (final MqttTopicPermission permission : permissions) {
+            if (permission.implies(topic, splitTopic, QoS.AT_LEAST_ONCE, ACTIVITY.PUBLISH)) {
+                return permission;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public MqttTopicPermission implies_in_place() {
+        for (final MqttTopicPermission permission : permissions) {
+            if (permission.implies(topic, QoS.AT_LEAST_ONCE, ACTIVITY.PUBLISH)) {
+                return permission;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public MqttTopicPermission implies_parsed_topic() {
+        for (final MqttTopicPermission permission : permissions) {
+            if (permission.implies(parsedTopic, QoS.AT_LEAST_ONCE, ACTIVITY.PUBLISH)) {
+                return permission;
+            }
+        }
+        return null;
+    }
+
+    @Benchmark
+    public MqttTopicPermission implies_access_mask() {
+        for (final MqttTopicPermission permission : permissions) {
+            if (permission.implies(parsedTopic, accessMask)) {
+                return permission;
+            }
+        }
+        return null;
+    }
+}
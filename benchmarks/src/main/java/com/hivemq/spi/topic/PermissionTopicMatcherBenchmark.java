@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.topic;
+
+import org.apache.commons.lang3.StringUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matches a topic against every permission topic of a list with the different matching modes
+ * of the {@link PermissionTopicMatcher}.
+ * <p/>
+ * The <code>tokenized</code> benchmark strips and splits both topics for every match, like the
+ * matcher did before topics could be matched in place.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PermissionTopicMatcherBenchmark {
+
+    @Param({"EXACT", "SINGLE_LEVEL_WILDCARDS", "MULTI_LEVEL_WILDCARD", "DEEP"})
+    public TopicShape shape;
+
+    @Param({"1", "10", "100", "1000", "10000"})
+    public int size;
+
+    private PermissionTopicMatcher topicMatcher;
+    private List<String> permissionTopics;
+    private List<ParsedTopic> parsedPermissionTopics;
+    private String topic;
+    private ParsedTopic parsedTopic;
+
+    @Setup
+    public void setUp() {
+        topicMatcher = new PermissionTopicMatcher();
+        permissionTopics = shape.permissionTopics(size);
+        parsedPermissionTopics = new ArrayList<>(size);
+        for (final String permissionTopic : permissionTopics) {
+            parsedPermissionTopics.add(ParsedTopic.of(permissionTopic));
+        }
+        topic = shape.lastTopic(size);
+        parsedTopic = ParsedTopic.of(topic);
+    }
+
+    @Benchmark
+    public int matches_tokenized() {
+        int matches = 0;
+        for (final String permissionTopic : permissionTopics) {
+            final String stripedPermissionTopic = StringUtils.stripEnd(permissionTopic, "/");
+            final String stripedActualTopic = StringUtils.stripEnd(topic, "/");
+
+            if (topicMatcher.matches(stripedPermissionTopic,
+                    StringUtils.splitPreserveAllTokens(stripedPermissionTopic, "/"),
+                    StringUtils.containsNone(stripedPermissionTopic, "#+"),
+                    StringUtils.endsWith(stripedPermissionTopic, "/#"),
+                    stripedPermissionTopic.contains("#"),
+                    stripedActualTopic,
+                    StringUtils.splitPreserveAllTokens(stripedActualTopic, "/"))) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int matches_in_place() {
+        int matches = 0;
+        for (final String permissionTopic : permissionTopics) {
+            if (topicMatcher.matchesInPlace(permissionTopic, topic)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    @Benchmark
+    public int matches_parsed_topic() {
+        int matches = 0;
+        for (final ParsedTopic permissionTopic : parsedPermissionTopics) {
+            if (topicMatcher.matches(permissionTopic, parsedTopic)) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+}
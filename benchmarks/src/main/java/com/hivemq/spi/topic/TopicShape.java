@@ -0,0 +1,138 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.topic;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hivemq.spi.topic.MqttTopicPermission.TYPE;
+
+/**
+ * The topic shapes all benchmarks run with.
+ * <p/>
+ * Every shape creates a list of permissions for different tenants and a topic which is only matched
+ * by the permission of the last tenant, so a linear evaluation has to check every permission.
+ */
+public enum TopicShape {
+
+    /**
+     * permissions without wildcards
+     */
+    EXACT {
+        @Override
+        public String permissionTopic(final int tenant) {
+            return "tenant/" + tenant + "/device/sensor/status";
+        }
+
+        @Override
+        public String topic(final int tenant) {
+            return "tenant/" + tenant + "/device/sensor/status";
+        }
+    },
+
+    /**
+     * permissions with mostly single level wildcards
+     */
+    SINGLE_LEVEL_WILDCARDS {
+        @Override
+        public String permissionTopic(final int tenant) {
+            return "+/tenant" + tenant + "/+/+/+/status";
+        }
+
+        @Override
+        public String topic(final int tenant) {
+            return "site/tenant" + tenant + "/device/sensor/temperature/status";
+        }
+    },
+
+    /**
+     * permissions ending with a multi level wildcard
+     */
+    MULTI_LEVEL_WILDCARD {
+        @Override
+        public String permissionTopic(final int tenant) {
+            return "tenant/" + tenant + "/#";
+        }
+
+        @Override
+        public String topic(final int tenant) {
+            return "tenant/" + tenant + "/device/sensor/status";
+        }
+    },
+
+    /**
+     * permissions and topics with 18 levels
+     */
+    DEEP {
+        @Override
+        public String permissionTopic(final int tenant) {
+            return DEEP_PREFIX + tenant + "/+/#";
+        }
+
+        @Override
+        public String topic(final int tenant) {
+            return DEEP_PREFIX + tenant + "/device/status";
+        }
+    };
+
+    private static final String DEEP_PREFIX = "l0/l1/l2/l3/l4/l5/l6/l7/l8/l9/l10/l11/l12/l13/l14/";
+
+    /**
+     * @param tenant the number of the tenant
+     * @return the permission topic of the tenant
+     */
+    public abstract String permissionTopic(int tenant);
+
+    /**
+     * @param tenant the number of the tenant
+     * @return a topic which is only matched by the permission topic of the tenant
+     */
+    public abstract String topic(int tenant);
+
+    /**
+     * @param size the number of permissions
+     * @return the permission topics of the tenants 0 to size - 1
+     */
+    public List<String> permissionTopics(final int size) {
+        final List<String> topics = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            topics.add(permissionTopic(i));
+        }
+        return topics;
+    }
+
+    /**
+     * @param size the number of permissions
+     * @param type the type of all permissions
+     * @return the permissions of the tenants 0 to size - 1
+     */
+    public List<MqttTopicPermission> permissions(final int size, final TYPE type) {
+        final List<MqttTopicPermission> permissions = new ArrayList<>(size);
+        for (final String topic : permissionTopics(size)) {
+            permissions.add(new MqttTopicPermission(topic, type));
+        }
+        return permissions;
+    }
+
+    /**
+     * @param size the number of permissions
+     * @return the topic which is only matched by the last permission
+     */
+    public String lastTopic(final int size) {
+        return topic(size - 1);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.aop.cache;
+
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.ThreadSafe;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Selects the parameters of a call to a {@link Cached} method which are the key of the cached return value.
+ * <p/>
+ * The returned key must implement {@link Object#equals(Object)} and {@link Object#hashCode()} and must not be
+ * <code>null</code>. Implementations must be thread safe.
+ *
+ * @since 3.4.5
+ */
+@ThreadSafe
+public interface CacheKeyStrategy {
+
+    /**
+     * @param arguments the arguments of the method call
+     * @return the key of the cached return value
+     */
+    @NotNull
+    Object key(@NotNull Object[] arguments);
+
+    /**
+     * Uses all arguments as key. This is the default strategy.
+     */
+    class AllArguments implements CacheKeyStrategy {
+
+        @NotNull
+        @Override
+        public Object key(@NotNull final Object[] arguments) {
+            return Arrays.asList(arguments.clone());
+        }
+    }
+
+    /**
+     * Uses the first argument as key, e.g. the client identifier, and ignores all other arguments.
+     */
+    class FirstArgument implements CacheKeyStrategy {
+
+        @NotNull
+        @Override
+        public Object key(@NotNull final Object[] arguments) {
+            if (arguments.length == 0) {
+                return Collections.emptyList();
+            }
+            return Collections.singletonList(arguments[0]);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.aop.cache;
+
+import com.codahale.metrics.Gauge;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.metrics.HiveMQMetric;
+import com.hivemq.spi.metrics.HiveMQMetrics;
+
+import java.lang.reflect.Method;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The metrics of a {@link Cached} method with {@link Cached#recordStats()} enabled.
+ * <p/>
+ * All metrics are {@link Gauge}s and are named <code>com.hivemq.plugin.cache.&lt;name&gt;.&lt;metric&gt;</code>,
+ * where the name is the {@link Cached#name()} or the canonical name of the class and method.
+ * They can be looked up with the {@link com.hivemq.spi.services.BlockingMetricService}, e.g.
+ * <code>metricService.getHiveMQMetric(CacheMetrics.hitCount("my-cache"))</code>.
+ *
+ * @since 3.4.5
+ */
+public class CacheMetrics {
+
+    private CacheMetrics() {
+        //Don't instantiate
+    }
+
+    /**
+     * @param method the cached method
+     * @return the name of the cache of the method
+     */
+    @NotNull
+    public static String name(@NotNull final Method method) {
+        checkNotNull(method, "Method must not be null");
+
+        final Cached cached = method.getAnnotation(Cached.class);
+        if (cached != null && !cached.name().isEmpty()) {
+            return cached.name();
+        }
+        return method.getDeclaringClass().getCanonicalName() + "." + method.getName();
+    }
+
+    /**
+     * @param name the name of the cache
+     * @return the {@link Gauge} for the number of lookups which returned a cached value
+     */
+    @NotNull
+    public static HiveMQMetric<Gauge<Number>> hitCount(@NotNull final String name) {
+        return gauge(name, "hit-count");
+    }
+
+    /**
+     * @param name the name of the cache
+     * @return the {@link Gauge} for the number of lookups which had to call the method
+     */
+    @NotNull
+    public static HiveMQMetric<Gauge<Number>> missCount(@NotNull final String name) {
+        return gauge(name, "miss-count");
+    }
+
+    /**
+     * @param name the name of the cache
+     * @return the {@link Gauge} for the ratio of hits to all lookups
+     */
+    @NotNull
+    public static HiveMQMetric<Gauge<Number>> hitRate(@NotNull final String name) {
+        return gauge(name, "hit-rate");
+    }
+
+    /**
+     * @param name the name of the cache
+     * @return the {@link Gauge} for the number of values which were evicted because of the size, weight or time to live
+     */
+    @NotNull
+    public static HiveMQMetric<Gauge<Number>> evictionCount(@NotNull final String name) {
+        return gauge(name, "eviction-count");
+    }
+
+    /**
+     * @param name the name of the cache
+     * @return the {@link Gauge} for the number of cached values
+     */
+    @NotNull
+    public static HiveMQMetric<Gauge<Number>> size(@NotNull final String name) {
+        return gauge(name, "size");
+    }
+
+    private static HiveMQMetric<Gauge<Number>> gauge(final String name, final String metric) {
+        checkNotNull(name, "Name must not be null");
+        return HiveMQMetric.gaugeValue(HiveMQMetrics.PLUGIN_CACHE_PREFIX + "." + name + "." + metric);
+    }
+}
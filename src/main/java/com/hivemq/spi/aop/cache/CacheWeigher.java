@@ -0,0 +1,48 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.aop.cache;
+
+import com.hivemq.spi.annotations.ThreadSafe;
+
+/**
+ * Determines the weight of a return value of a {@link Cached} method for the {@link Cached#maximumWeight()}.
+ * <p/>
+ * The weight is calculated once when the value is cached. Implementations must be thread safe.
+ *
+ * @since 3.4.5
+ */
+@ThreadSafe
+public interface CacheWeigher {
+
+    /**
+     * @param key   the key of the cached value, as returned by the {@link CacheKeyStrategy}
+     * @param value the cached return value
+     * @return the weight of the value, must not be negative
+     */
+    int weigh(Object key, Object value);
+
+    /**
+     * Weighs every value with 1. This is the default weigher.
+     */
+    class SingleWeight implements CacheWeigher {
+
+        @Override
+        public int weigh(final Object key, final Object value) {
+            return 1;
+        }
+    }
+}
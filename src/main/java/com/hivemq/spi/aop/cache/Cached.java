@@ -31,6 +31,11 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
  * Very useful for expensive methods
  * (like database lookups) which are called regularly.
  * <p/>
+ * The cache can be bounded by a {@link #maximumSize()} or a {@link #maximumWeight()}, so it does not grow
+ * without limits if many different parameters are used, e.g. by lots of connecting clients.
+ * If {@link #recordStats()} is enabled, the hits, misses and evictions of the cache are available via the
+ * {@link com.hivemq.spi.services.BlockingMetricService}, see {@link CacheMetrics}.
+ * <p/>
  * Only works on objects created by Guice.
  *
  * @author Christian Goetz
@@ -47,7 +52,72 @@ public @interface Cached {
     long timeToLive();
 
     /**
-     * The {@link TimeUnit} for the timeToLive. Defaults to Milliseconds
+     * The {@link TimeUnit} for the timeToLive and the refreshAfterWrite. Defaults to Milliseconds
      */
     TimeUnit timeUnit() default TimeUnit.MILLISECONDS;
+
+    /**
+     * The maximum number of cached return values. The least recently used values are evicted first.
+     * Defaults to -1, which means the number of cached values is not limited.
+     * <p/>
+     * Must not be used together with {@link #maximumWeight()}.
+     *
+     * @since 3.4.5
+     */
+    long maximumSize() default -1;
+
+    /**
+     * The maximum total weight of the cached return values, the weight of a value is determined by the
+     * {@link #weigher()}. Defaults to -1, which means the weight of the cached values is not limited.
+     * <p/>
+     * Must not be used together with {@link #maximumSize()}.
+     *
+     * @since 3.4.5
+     */
+    long maximumWeight() default -1;
+
+    /**
+     * The {@link CacheWeigher} which determines the weight of a cached return value for the {@link #maximumWeight()}.
+     * Defaults to a weight of 1 for every value.
+     * <p/>
+     * The weigher is created by Guice.
+     *
+     * @since 3.4.5
+     */
+    Class<? extends CacheWeigher> weigher() default CacheWeigher.SingleWeight.class;
+
+    /**
+     * The time after which a cached return value is refreshed asynchronously by calling the method again
+     * with the {@link com.hivemq.spi.services.PluginExecutorService}. Until the refresh is done, the old value
+     * is returned. Defaults to -1, which means values are not refreshed but expire after the timeToLive.
+     * <p/>
+     * To be useful, the refreshAfterWrite must be shorter than the timeToLive.
+     *
+     * @since 3.4.5
+     */
+    long refreshAfterWrite() default -1;
+
+    /**
+     * The {@link CacheKeyStrategy} which selects the parameters of a method call which are the key of the
+     * cached return value. Defaults to all parameters.
+     * <p/>
+     * The strategy is created by Guice.
+     *
+     * @since 3.4.5
+     */
+    Class<? extends CacheKeyStrategy> keyStrategy() default CacheKeyStrategy.AllArguments.class;
+
+    /**
+     * If statistics about hits, misses and evictions should be recorded and exposed as metrics. Defaults to false.
+     *
+     * @since 3.4.5
+     */
+    boolean recordStats() default false;
+
+    /**
+     * @return The name of this cache for the metrics. When left empty the canonical name of the class
+     * and method will be used.
+     * @since 3.4.5
+     */
+    String name() default "";
 }
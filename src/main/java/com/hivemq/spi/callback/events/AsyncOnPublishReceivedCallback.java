@@ -0,0 +1,82 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.events;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.callback.AsynchronousCallback;
+import com.hivemq.spi.callback.exception.OnPublishReceivedException;
+import com.hivemq.spi.message.PUBLISH;
+import com.hivemq.spi.security.ClientData;
+
+/**
+ * The non-blocking variant of the {@link OnPublishReceivedCallback}, which gets called when a {@link PUBLISH}
+ * MQTT message arrives.
+ * <p/>
+ * The decision about the PUBLISH is deferred until the returned {@link ListenableFuture} is done, so the PUBLISH
+ * can be validated or enriched by a remote system without blocking a HiveMQ thread. Until then, HiveMQ holds
+ * the PUBLISH and, for QoS 1 and 2, the PUBACK or PUBREC for the client.
+ * <p/>
+ * If the future succeeds, the PUBLISH is accepted. If it fails with an {@link OnPublishReceivedException}, the
+ * PUBLISH is dropped and it's possible to optionally disconnect the publishing client. If it fails with any other
+ * exception or is not done within {@link #timeoutMillis()}, the PUBLISH is dropped and the client stays connected.
+ * <p/>
+ * The callback is called as soon as a PUBLISH arrives, even if the futures for earlier PUBLISHes of the same client
+ * are not done yet. The accepted PUBLISHes of a client are still delivered in the order in which they arrived.
+ * If a client has more than {@link #maxPendingPublishes()} undecided PUBLISHes, HiveMQ stops reading from its
+ * connection until the oldest future is done.
+ * <p/>
+ * If more than one AsyncOnPublishReceivedCallback is registered, they are called at the same time and the PUBLISH
+ * is only accepted if all futures succeed. They are called after all {@link OnPublishReceivedCallback}s accepted
+ * the PUBLISH.
+ *
+ * @since 3.4.5
+ */
+public interface AsyncOnPublishReceivedCallback extends AsynchronousCallback {
+
+    /**
+     * Called when a {@link PUBLISH} MQTT message arrives. This method must not block.
+     * <p/>
+     * The publish parameter references the publish object, that is sent to the subscribers after all futures
+     * are done. It may be modified until the returned future is done, but not afterwards. If you don´t want your
+     * plugin to interfere in the regular publishing process, you must copy the {@link PUBLISH} object with
+     * {@link PUBLISH#copy(PUBLISH)}. The {@link PUBLISH#getPayloadBuffer()} stays valid until the returned
+     * future is done.
+     *
+     * @param publish    the {@link PUBLISH} message which was sent
+     * @param clientData the information of the publishing client
+     * @return a {@link ListenableFuture} which succeeds if the PUBLISH is accepted or fails with an
+     * {@link OnPublishReceivedException} if the PUBLISH is invalid
+     */
+    @NotNull
+    ListenableFuture<Void> onPublishReceived(@NotNull PUBLISH publish, @NotNull ClientData clientData);
+
+    /**
+     * The time HiveMQ waits for the future of {@link #onPublishReceived(PUBLISH, ClientData)}.
+     * If the future is not done in time, it is cancelled and the PUBLISH is dropped.
+     *
+     * @return the timeout in milliseconds, a good default would be 5000
+     */
+    long timeoutMillis();
+
+    /**
+     * The maximum number of PUBLISHes of a single client which wait for the decision of this callback.
+     *
+     * @return the maximum number of pending PUBLISHes per client, a good default would be 10
+     */
+    int maxPendingPublishes();
+}
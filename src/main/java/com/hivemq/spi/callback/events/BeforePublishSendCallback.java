@@ -14,6 +14,10 @@ import com.hivemq.spi.security.ClientData;
  * This callback allows the modification of MQTT {@link PUBLISH} messages at the last moment before they are sent to the client.
  * <p>
  * If more than one BeforePublishSendCallback is registered, they will get called ordered by decreasing {@link com.hivemq.spi.callback.CallbackPriority}. If an exception is thrown in a {@link BeforePublishSendCallback}, all pending callbacks will not be executed.
+ * <p>
+ * The {@link ModifiablePUBLISH} can be a {@link com.hivemq.spi.message.CopyOnWritePUBLISH}, which shares the message with all other subscribers
+ * until the topic or payload is set. Never modify the <code>byte[]</code> returned by {@link ModifiablePUBLISH#getPayload()} directly, it may be a copy
+ * which is not part of the message, use the setters instead. {@link ModifiablePUBLISH#getPayloadBuffer()} reads the payload without a copy.
  *
  * @author Georg Held
  * @author Christoph Schaebel
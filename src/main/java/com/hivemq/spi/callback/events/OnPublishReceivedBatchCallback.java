@@ -0,0 +1,40 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.events;
+
+import com.hivemq.spi.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Gets called with a batch of <b>incoming</b> PUBLISH messages after they were accepted.
+ * <p/>
+ * In contrast to the {@link OnPublishReceivedCallback} this callback is only an observer and can't reject
+ * or modify PUBLISHes. It is meant for analytics or auditing, which don't need to be called once per PUBLISH.
+ * See {@link PublishBatchCallback} for the configuration of the batches.
+ *
+ * @since 3.4.5
+ */
+public interface OnPublishReceivedBatchCallback extends PublishBatchCallback {
+
+    /**
+     * Gets called with a batch of PUBLISHes which were received by HiveMQ.
+     *
+     * @param events an immutable list of the PUBLISHes and the information about the publishing clients, in the order in which they were received
+     */
+    void onPublishReceivedBatch(@NotNull List<PublishEvent> events);
+}
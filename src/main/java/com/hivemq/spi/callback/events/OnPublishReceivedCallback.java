@@ -34,6 +34,11 @@ import com.hivemq.spi.security.ClientData;
  * This callback is <b>not</b> meant to implement authorization (= Topic Restrictions). You should
  * use the {@link OnAuthorizationCallback} for that purpose
  * as this offers more fine grained actions and extension points.
+ * <p/>
+ * If you need the levels of the topic, use {@link PUBLISH#getParsedTopic()} instead of splitting the topic,
+ * the parsed topic is shared with HiveMQ and all other callbacks.
+ * <p/>
+ * If the PUBLISH has to be validated by a remote system, use the non-blocking {@link AsyncOnPublishReceivedCallback}.
  *
  * @author Dominik Obermaier
  * @since 1.4
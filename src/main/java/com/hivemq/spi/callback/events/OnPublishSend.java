@@ -26,6 +26,8 @@ import com.hivemq.spi.security.ClientData;
  * to receive a message
  * <p/>
  * <b>This callback is called VERY often, so make sure you don't block and use proper caching</b>
+ * <p/>
+ * If the PUBLISHes are only observed, consider the {@link OnPublishSendBatchCallback}, which is called once per batch.
  *
  * @author Christian Goetz
  * @since 1.4
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.events;
+
+import com.hivemq.spi.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * The batched variant of {@link OnPublishSend}, which gets called with a batch of <b>outgoing</b> PUBLISH messages.
+ * <p/>
+ * This callback is meant for observers like analytics or auditing, which don't need to be called once per PUBLISH.
+ * See {@link PublishBatchCallback} for the configuration of the batches.
+ *
+ * @since 3.4.5
+ */
+public interface OnPublishSendBatchCallback extends PublishBatchCallback {
+
+    /**
+     * Gets called with a batch of PUBLISHes which were sent by HiveMQ to subscribing clients.
+     *
+     * @param events an immutable list of the PUBLISHes and the information about the subscribing clients, in the order in which they were sent
+     */
+    void onPublishSendBatch(@NotNull List<PublishEvent> events);
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.events;
+
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.Nullable;
+import com.hivemq.spi.callback.SynchronousCallback;
+import com.hivemq.spi.message.SubackReturnCode;
+import com.hivemq.spi.message.Topic;
+import com.hivemq.spi.security.ClientData;
+
+import java.util.List;
+
+/**
+ * This callback returns the {@link SubackReturnCode}s for all {@link Topic}s of a SUBSCRIBE in a single call.
+ * <p/>
+ * It is the batch variant of the {@link OnTopicSubscriptionCallback}, which is called once for every topic.
+ * Implementations which ask an external system, e.g. a policy store, can decide about all topics of a SUBSCRIBE
+ * with a single round trip. {@link com.hivemq.spi.security.AuthorizationEvaluator#checkSubscriptions(List, com.hivemq.spi.callback.security.authorization.AuthorizationResult)}
+ * evaluates a list of topics against the same permissions.
+ * <p/>
+ * This callback is called once for every SUBSCRIBE after the {@link com.hivemq.spi.callback.security.OnAuthorizationCallback}s
+ * and before the {@link OnTopicSubscriptionCallback}s, which receive the return codes of this callback.
+ * When more OnSubscriptionAuthorizationCallbacks are added, every callback receives the return codes of the callback
+ * with the next higher priority and the one that fires last (with the least priority) has the final say.
+ *
+ * @since 3.4.5
+ */
+public interface OnSubscriptionAuthorizationCallback extends SynchronousCallback {
+
+    /**
+     * Returns the {@link SubackReturnCode}s for all topics of a SUBSCRIBE.
+     *
+     * @param topics               the topics to which the client wants to subscribe, in the order of the SUBSCRIBE
+     * @param authorizationResults the results of a OnSubscriptionAuthorizationCallback with higher priority if available,
+     *                             or of the {@link com.hivemq.spi.callback.security.OnAuthorizationCallback}s if available,
+     *                             or the QoS the client requested. There is one return code for every topic.
+     * @param clientData           information about the client
+     * @return the {@link SubackReturnCode}s for the topics in the same order as the topics, a good default would be
+     * <code>authorizationResults</code>. If <code>null</code> or an array with a different length is returned,
+     * the <code>authorizationResults</code> are used.
+     */
+    @Nullable
+    SubackReturnCode[] getSubackReturnCodesForClient(@NotNull List<Topic> topics,
+                                                     @NotNull SubackReturnCode[] authorizationResults,
+                                                     @NotNull ClientData clientData);
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.events;
+
+import com.hivemq.spi.callback.AsynchronousCallback;
+
+/**
+ * The common configuration of the callbacks which observe PUBLISH messages in batches instead of one by one.
+ * <p/>
+ * HiveMQ collects the {@link PublishEvent}s for a batch callback and calls it with a batch as soon as
+ * {@link #maxBatchSize()} events are collected or the oldest event of the batch waits for {@link #maxBatchDelayMillis()},
+ * whatever happens first. The batches are delivered on the {@link com.hivemq.spi.services.PluginExecutorService},
+ * so one task is scheduled per batch instead of per PUBLISH.
+ * <p/>
+ * If the callback can't keep up and more than {@link #maxPendingBatches()} batches wait for delivery, new batches
+ * are dropped. Dropped batches are counted by the {@link com.hivemq.spi.metrics.HiveMQMetrics#PLUGIN_COUNTER_PUBLISH_BATCH_DROPPED}
+ * metric.
+ * <p/>
+ * Don't implement this interface on your own, use {@link OnPublishSendBatchCallback} or
+ * {@link OnPublishReceivedBatchCallback}
+ *
+ * @since 3.4.5
+ */
+public interface PublishBatchCallback extends AsynchronousCallback {
+
+    /**
+     * @return the maximum number of events in a batch, a good default would be 1000
+     */
+    int maxBatchSize();
+
+    /**
+     * @return the maximum time in milliseconds an event waits until its batch is delivered, a good default would be 100
+     */
+    long maxBatchDelayMillis();
+
+    /**
+     * @return the maximum number of batches which wait for delivery, a good default would be 10
+     */
+    int maxPendingBatches();
+}
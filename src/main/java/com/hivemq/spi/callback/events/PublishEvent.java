@@ -0,0 +1,68 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.events;
+
+import com.hivemq.spi.annotations.Immutable;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.message.PUBLISH;
+import com.hivemq.spi.security.ClientData;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A PUBLISH which was received from or sent to a client, as delivered to a {@link PublishBatchCallback}.
+ *
+ * @since 3.4.5
+ */
+@Immutable
+public class PublishEvent {
+
+    private final PUBLISH publish;
+    private final ClientData clientData;
+
+    public PublishEvent(@NotNull final PUBLISH publish, @NotNull final ClientData clientData) {
+        checkNotNull(publish, "PUBLISH must not be null");
+        checkNotNull(clientData, "Client data must not be null");
+        this.publish = publish;
+        this.clientData = clientData;
+    }
+
+    /**
+     * @return the PUBLISH message, which must not be modified. Use {@link PUBLISH#copy(PUBLISH)} if it is used
+     * after the batch callback returned, a payload buffer is only valid for the duration of the callback
+     */
+    @NotNull
+    public PUBLISH getPublish() {
+        return publish;
+    }
+
+    /**
+     * @return the information about the publishing or receiving client
+     */
+    @NotNull
+    public ClientData getClientData() {
+        return clientData;
+    }
+
+    @Override
+    public String toString() {
+        return "PublishEvent{" +
+                "topic='" + publish.getTopic() + '\'' +
+                ", clientId='" + clientData.getClientId() + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.guard;
+
+import com.hivemq.spi.annotations.Immutable;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The deadline, fallback decision and circuit breaker configuration of a {@link GuardedCallback}.
+ *
+ * @since 3.4.5
+ */
+@Immutable
+public class CallbackGuard {
+
+    /**
+     * The decision which is used instead of the result of the callback
+     */
+    public enum Fallback {
+        /**
+         * continue as if the callback returned normally
+         */
+        ACCEPT,
+        /**
+         * refuse the CONNECT, SUBSCRIBE or PUBLISH
+         */
+        DENY
+    }
+
+    private final long deadlineMillis;
+    private final Fallback fallback;
+    private final int failureThreshold;
+    private final long openDurationMillis;
+    private final String name;
+
+    private CallbackGuard(final long deadlineMillis, final Fallback fallback, final int failureThreshold,
+                          final long openDurationMillis, final String name) {
+        this.deadlineMillis = deadlineMillis;
+        this.fallback = fallback;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDurationMillis;
+        this.name = name;
+    }
+
+    /**
+     * @return the maximum time in milliseconds HiveMQ waits for a call of the callback
+     */
+    public long getDeadlineMillis() {
+        return deadlineMillis;
+    }
+
+    /**
+     * @return the decision which is used if the deadline is exceeded, the callback throws an unexpected exception
+     * or the circuit breaker is open
+     */
+    @NotNull
+    public Fallback getFallback() {
+        return fallback;
+    }
+
+    /**
+     * @return the number of consecutive slow or failed calls after which the circuit breaker opens
+     */
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    /**
+     * @return the time in milliseconds the circuit breaker stays open before a trial call is made
+     */
+    public long getOpenDurationMillis() {
+        return openDurationMillis;
+    }
+
+    /**
+     * @return the name of the circuit breaker in the metrics or <code>null</code> if the name of the class of the
+     * callback is used, see {@link CircuitBreakerMetrics#name(com.hivemq.spi.callback.Callback, CallbackGuard)}
+     */
+    @Nullable
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return "CallbackGuard{" +
+                "deadlineMillis=" + deadlineMillis +
+                ", fallback=" + fallback +
+                ", failureThreshold=" + failureThreshold +
+                ", openDurationMillis=" + openDurationMillis +
+                ", name='" + name + '\'' +
+                '}';
+    }
+
+    /**
+     * A builder which allows to conveniently build a CallbackGuard with a fluent API
+     */
+    public static class Builder {
+
+        private final Fallback fallback;
+        private long deadlineMillis = 1000;
+        private int failureThreshold = 5;
+        private long openDurationMillis = TimeUnit.SECONDS.toMillis(30);
+        private String name;
+
+        /**
+         * @param fallback the decision which is used instead of the result of the callback
+         */
+        public Builder(@NotNull final Fallback fallback) {
+            checkNotNull(fallback, "Fallback must not be null");
+            this.fallback = fallback;
+        }
+
+        /**
+         * Sets the maximum time HiveMQ waits for a call of the callback. Defaults to 1 second.
+         *
+         * @param duration the deadline, at least 1 millisecond
+         * @param unit     the unit of the duration
+         * @return the Builder
+         */
+        public Builder deadline(final long duration, @NotNull final TimeUnit unit) {
+            checkNotNull(unit, "TimeUnit must not be null");
+            final long deadlineMillis = unit.toMillis(duration);
+            checkArgument(deadlineMillis > 0, "Deadline must be at least 1 millisecond");
+            this.deadlineMillis = deadlineMillis;
+            return this;
+        }
+
+        /**
+         * Sets the number of consecutive slow or failed calls after which the circuit breaker opens. Defaults to 5.
+         *
+         * @param failureThreshold the number of consecutive failures
+         * @return the Builder
+         */
+        public Builder failureThreshold(final int failureThreshold) {
+            checkArgument(failureThreshold > 0, "Failure threshold must be positive");
+            this.failureThreshold = failureThreshold;
+            return this;
+        }
+
+        /**
+         * Sets how long the circuit breaker stays open before a trial call is made. Defaults to 30 seconds.
+         *
+         * @param duration the open duration
+         * @param unit     the unit of the duration
+         * @return the Builder
+         */
+        public Builder openDuration(final long duration, @NotNull final TimeUnit unit) {
+            checkArgument(duration >= 0, "Open duration must not be negative");
+            checkNotNull(unit, "TimeUnit must not be null");
+            this.openDurationMillis = unit.toMillis(duration);
+            return this;
+        }
+
+        /**
+         * Sets the name of the circuit breaker in the metrics. Defaults to the name of the class of the callback.
+         * <p/>
+         * Set a different name for every instance if a plugin guards several instances of the same callback class,
+         * otherwise HiveMQ appends the instance number to the name, see {@link CircuitBreakerMetrics}.
+         *
+         * @param name the name of the circuit breaker
+         * @return the Builder
+         */
+        public Builder name(@NotNull final String name) {
+            checkNotNull(name, "Name must not be null");
+            checkArgument(!name.isEmpty(), "Name must not be empty");
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * @return the CallbackGuard
+         */
+        public CallbackGuard build() {
+            return new CallbackGuard(deadlineMillis, fallback, failureThreshold, openDurationMillis, name);
+        }
+    }
+}
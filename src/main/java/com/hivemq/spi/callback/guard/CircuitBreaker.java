@@ -0,0 +1,245 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.guard;
+
+import com.google.common.base.Ticker;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.ThreadSafe;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The circuit breaker of a {@link GuardedCallback}.
+ * <p/>
+ * The breaker is {@link State#CLOSED} as long as the callback returns in time. After
+ * {@link CallbackGuard#getFailureThreshold()} consecutive calls which exceeded the deadline or failed,
+ * it is {@link State#OPEN} and calls are not allowed. After {@link CallbackGuard#getOpenDurationMillis()}
+ * a single trial call is allowed ({@link State#HALF_OPEN}), which closes the breaker if it succeeds or opens it again.
+ * <p/>
+ * Every allowed call gets a permit which must be passed when the result of the call is recorded. Results of
+ * calls which were allowed before the last state change are ignored, so a late result of a call
+ * which was allowed while the breaker was closed can never close an open breaker or finish the trial call.
+ * <p/>
+ * Usage for every call of the callback:
+ * <pre>
+ * final long permit = circuitBreaker.tryAcquire();
+ * if (permit == CircuitBreaker.NO_PERMIT) {
+ *     //use the fallback decision
+ * }
+ * final long start = System.nanoTime();
+ * //call the callback, on exception or timeout: circuitBreaker.onFailure(permit)
+ * circuitBreaker.onSuccess(permit, System.nanoTime() - start);
+ * </pre>
+ *
+ * @since 3.4.5
+ */
+@ThreadSafe
+public class CircuitBreaker {
+
+    /**
+     * The state of a circuit breaker
+     */
+    public enum State {
+        /**
+         * calls are allowed
+         */
+        CLOSED,
+        /**
+         * a single trial call is allowed
+         */
+        HALF_OPEN,
+        /**
+         * calls are not allowed, the fallback decision is used
+         */
+        OPEN
+    }
+
+    /**
+     * Returned by {@link #tryAcquire()} if the callback must not be called
+     */
+    public static final long NO_PERMIT = -1;
+
+    private final CallbackGuard callbackGuard;
+    private final Ticker ticker;
+    private final long deadlineNanos;
+    private final long openDurationNanos;
+
+    /**
+     * state, generation and consecutive failures are only modified while holding the lock, they are volatile for the
+     * lock free fast path of successful calls. The generation is incremented on every state change and on every
+     * trial call, it is the permit of the calls which are allowed in the current state.
+     */
+    private volatile State state = State.CLOSED;
+    private volatile long generation;
+    private volatile int consecutiveFailures;
+    private long openedAt;
+    private boolean trialCallRunning;
+
+    private final AtomicLong fallbackCount = new AtomicLong();
+    private final AtomicLong openCount = new AtomicLong();
+
+    /**
+     * @param callbackGuard the configuration of the callback
+     * @throws NullPointerException if the callback guard is <code>null</code>
+     */
+    public CircuitBreaker(@NotNull final CallbackGuard callbackGuard) {
+        this(callbackGuard, Ticker.systemTicker());
+    }
+
+    CircuitBreaker(final CallbackGuard callbackGuard, final Ticker ticker) {
+        checkNotNull(callbackGuard, "Callback guard must not be null");
+        this.callbackGuard = callbackGuard;
+        this.ticker = ticker;
+        this.deadlineNanos = TimeUnit.MILLISECONDS.toNanos(callbackGuard.getDeadlineMillis());
+        this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(callbackGuard.getOpenDurationMillis());
+    }
+
+    /**
+     * Checks if the callback may be called. If not, the fallback decision must be used and the call is counted
+     * as fallback.
+     *
+     * @return the permit for the call which must be passed to {@link #onSuccess(long, long)} or
+     * {@link #onFailure(long)}, or {@link #NO_PERMIT} if the callback must not be called
+     */
+    public long tryAcquire() {
+        final long permit = generation;
+        if (state == State.CLOSED) {
+            return permit;
+        }
+        synchronized (this) {
+            if (state == State.OPEN && ticker.read() - openedAt >= openDurationNanos) {
+                state = State.HALF_OPEN;
+            }
+            if (state == State.HALF_OPEN && !trialCallRunning) {
+                trialCallRunning = true;
+                return ++generation;
+            }
+            if (state == State.CLOSED) {
+                return generation;
+            }
+        }
+        fallbackCount.incrementAndGet();
+        return NO_PERMIT;
+    }
+
+    /**
+     * Records a call which returned. If the call exceeded the deadline, it counts as failure.
+     * <p/>
+     * The result is ignored if the permit is not the permit of the current state.
+     *
+     * @param permit       the permit returned by {@link #tryAcquire()} for the call
+     * @param elapsedNanos the duration of the call in nanoseconds
+     */
+    public void onSuccess(final long permit, final long elapsedNanos) {
+        if (elapsedNanos > deadlineNanos) {
+            onFailure(permit);
+            return;
+        }
+        if (state == State.CLOSED && consecutiveFailures == 0) {
+            return;
+        }
+        synchronized (this) {
+            if (permit != generation || state == State.OPEN) {
+                return;
+            }
+            consecutiveFailures = 0;
+            if (state == State.HALF_OPEN) {
+                close();
+            }
+        }
+    }
+
+    /**
+     * Records a call which exceeded the deadline or threw an unexpected exception.
+     * <p/>
+     * The result is ignored if the permit is not the permit of the current state.
+     *
+     * @param permit the permit returned by {@link #tryAcquire()} for the call
+     */
+    public synchronized void onFailure(final long permit) {
+        if (permit != generation || state == State.OPEN) {
+            return;
+        }
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= callbackGuard.getFailureThreshold()) {
+            open();
+        }
+    }
+
+    /**
+     * Closes the breaker and resets the consecutive failures.
+     */
+    public synchronized void reset() {
+        consecutiveFailures = 0;
+        close();
+    }
+
+    /**
+     * @return the current state of the breaker
+     */
+    @NotNull
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return the number of calls which were not allowed
+     */
+    public long getFallbackCount() {
+        return fallbackCount.get();
+    }
+
+    /**
+     * @return how often the breaker opened
+     */
+    public long getOpenCount() {
+        return openCount.get();
+    }
+
+    /**
+     * @return the configuration of the callback
+     */
+    @NotNull
+    public CallbackGuard getCallbackGuard() {
+        return callbackGuard;
+    }
+
+    private void open() {
+        generation++;
+        trialCallRunning = false;
+        state = State.OPEN;
+        openedAt = ticker.read();
+        openCount.incrementAndGet();
+    }
+
+    private void close() {
+        generation++;
+        trialCallRunning = false;
+        state = State.CLOSED;
+    }
+
+    @Override
+    public String toString() {
+        return "CircuitBreaker{" +
+                "state=" + state +
+                ", callbackGuard=" + callbackGuard +
+                '}';
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.guard;
+
+import com.codahale.metrics.Gauge;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.callback.Callback;
+import com.hivemq.spi.metrics.HiveMQMetric;
+import com.hivemq.spi.metrics.HiveMQMetrics;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The metrics of the {@link CircuitBreaker} of a {@link GuardedCallback}.
+ * <p/>
+ * All metrics are {@link Gauge}s and are named <code>com.hivemq.plugin.callbacks.circuit-breaker.&lt;name&gt;.&lt;metric&gt;</code>,
+ * where the name is the {@link CallbackGuard#getName()} or the canonical name of the class of the callback.
+ * They can be looked up with the {@link com.hivemq.spi.services.BlockingMetricService}, e.g.
+ * <code>metricService.getHiveMQMetric(CircuitBreakerMetrics.state(CircuitBreakerMetrics.name(callback, callbackGuard)))</code>.
+ * <p/>
+ * Every guarded callback instance has its own circuit breaker and therefore needs its own name. If several
+ * guarded callbacks have the same name, e.g. instances of the same class without a {@link CallbackGuard.Builder#name(String)},
+ * HiveMQ names their breakers with {@link #uniqueName(String, int)} in the order the callbacks were added:
+ * the first one keeps the name, the following ones get <code>&lt;name&gt;-2</code>, <code>&lt;name&gt;-3</code> and so on.
+ *
+ * @since 3.4.5
+ */
+public class CircuitBreakerMetrics {
+
+    private CircuitBreakerMetrics() {
+        //Don't instantiate
+    }
+
+    /**
+     * @param callback      the guarded callback
+     * @param callbackGuard the configuration of the callback
+     * @return the name of the circuit breaker of the callback, which is not unique if other callbacks have the same name
+     */
+    @NotNull
+    public static String name(@NotNull final Callback callback, @NotNull final CallbackGuard callbackGuard) {
+        checkNotNull(callback, "Callback must not be null");
+        checkNotNull(callbackGuard, "Callback guard must not be null");
+        if (callbackGuard.getName() != null) {
+            return callbackGuard.getName();
+        }
+        final String canonicalName = callback.getClass().getCanonicalName();
+        return canonicalName != null ? canonicalName : callback.getClass().getName();
+    }
+
+    /**
+     * @param name     the name of the circuit breaker
+     * @param instance the number of the guarded callback among all guarded callbacks with this name, starting at 1
+     * @return the unique name of the circuit breaker, which is the name itself for the first instance
+     * @throws IllegalArgumentException if the instance is smaller than 1
+     */
+    @NotNull
+    public static String uniqueName(@NotNull final String name, final int instance) {
+        checkNotNull(name, "Name must not be null");
+        checkArgument(instance > 0, "Instance must be at least 1");
+        return instance == 1 ? name : name + "-" + instance;
+    }
+
+    /**
+     * @param name the name of the circuit breaker
+     * @return the {@link Gauge} for the state of the breaker: 0 for {@link CircuitBreaker.State#CLOSED},
+     * 1 for {@link CircuitBreaker.State#HALF_OPEN} and 2 for {@link CircuitBreaker.State#OPEN}
+     */
+    @NotNull
+    public static HiveMQMetric<Gauge<Number>> state(@NotNull final String name) {
+        return gauge(name, "state");
+    }
+
+    /**
+     * @param name the name of the circuit breaker
+     * @return the {@link Gauge} for the number of calls which were replaced by the fallback decision
+     */
+    @NotNull
+    public static HiveMQMetric<Gauge<Number>> fallbackCount(@NotNull final String name) {
+        return gauge(name, "fallback-count");
+    }
+
+    /**
+     * @param name the name of the circuit breaker
+     * @return the {@link Gauge} for the number of times the breaker opened
+     */
+    @NotNull
+    public static HiveMQMetric<Gauge<Number>> openCount(@NotNull final String name) {
+        return gauge(name, "open-count");
+    }
+
+    private static HiveMQMetric<Gauge<Number>> gauge(final String name, final String metric) {
+        checkNotNull(name, "Name must not be null");
+        return HiveMQMetric.gaugeValue(HiveMQMetrics.PLUGIN_CIRCUIT_BREAKER_PREFIX + "." + name + "." + metric);
+    }
+}
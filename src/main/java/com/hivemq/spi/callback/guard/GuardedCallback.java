@@ -0,0 +1,50 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.guard;
+
+import com.hivemq.spi.annotations.NotNull;
+
+/**
+ * A {@link com.hivemq.spi.callback.SynchronousCallback} can implement this interface additionally to declare a deadline
+ * and a circuit breaker, which bound the time HiveMQ waits for the callback.
+ * <p/>
+ * If a call takes longer than the deadline, HiveMQ stops waiting and uses the fallback decision of the
+ * {@link CallbackGuard} instead. After {@link CallbackGuard#getFailureThreshold()} consecutive slow or failed calls,
+ * the {@link CircuitBreaker} of the callback opens and the callback is not called at all for
+ * {@link CallbackGuard#getOpenDurationMillis()}. Afterwards a single trial call decides if the breaker closes again.
+ * <p/>
+ * The fallback decision is applied as follows:
+ * <ul>
+ * <li>{@link com.hivemq.spi.callback.events.OnConnectCallback}: {@link CallbackGuard.Fallback#DENY} refuses the CONNECT with the return code "server unavailable"</li>
+ * <li>{@link com.hivemq.spi.callback.events.OnSubscribeCallback}: {@link CallbackGuard.Fallback#DENY} refuses the SUBSCRIBE</li>
+ * <li>{@link com.hivemq.spi.callback.events.OnPublishReceivedCallback}: {@link CallbackGuard.Fallback#DENY} drops the PUBLISH</li>
+ * </ul>
+ * {@link CallbackGuard.Fallback#ACCEPT} continues as if the callback returned normally. The state of the circuit breaker
+ * is available as metrics, see {@link CircuitBreakerMetrics}.
+ *
+ * @since 3.4.5
+ */
+public interface GuardedCallback {
+
+    /**
+     * This method is called once when the callback is added to the {@link com.hivemq.spi.callback.registry.CallbackRegistry}.
+     *
+     * @return the deadline, fallback decision and circuit breaker configuration of the callback
+     */
+    @NotNull
+    CallbackGuard callbackGuard();
+}
@@ -18,7 +18,10 @@ package com.hivemq.spi.callback.registry;
 
 import com.hivemq.spi.PluginEntryPoint;
 import com.hivemq.spi.callback.Callback;
+import com.hivemq.spi.callback.schedule.IntervalScheduledCallback;
 import com.hivemq.spi.callback.schedule.ScheduledCallback;
+import com.hivemq.spi.topic.ParsedTopic;
+import com.hivemq.spi.topic.exception.InvalidTopicException;
 
 import java.util.List;
 import java.util.Set;
@@ -32,6 +35,9 @@ import java.util.Set;
  * The callback registry can be obtained in the implementation of the
  * {@link PluginEntryPoint} by calling
  * {@link PluginEntryPoint#getCallbackRegistry()}.
+ * <p/>
+ * Callbacks for PUBLISH messages can be restricted to topic filters with {@link #addCallback(Callback, Set)}.
+ * HiveMQ doesn't call these callbacks at all for PUBLISHes with other topics.
  *
  * @author Dominik Obermaier
  * @author Christian Goetz
@@ -53,6 +59,26 @@ public interface CallbackRegistry {
      */
     void addCallbacks(Callback... callbacks);
 
+    /**
+     * Makes a callback available to HiveMQ, which is only called for PUBLISH messages with a topic that matches
+     * at least one of the topic filters. The standard MQTT topic matching rules apply.
+     * <p/>
+     * This is supported for {@link com.hivemq.spi.callback.events.OnPublishReceivedCallback},
+     * {@link com.hivemq.spi.callback.events.OnPublishSend} and {@link com.hivemq.spi.callback.events.BeforePublishSendCallback}.
+     * If the callback implements other callback interfaces as well, it is added for them without topic filters.
+     * <p/>
+     * The topic filters of all callbacks are stored in one {@link com.hivemq.spi.topic.TopicFilterTrie}, so the
+     * callbacks for a topic are found without matching every topic filter.
+     *
+     * @param callback     which should be added
+     * @param topicFilters the topic filters, may contain wildcards
+     * @throws NullPointerException     if the callback, the topic filters or any topic filter is <code>null</code>
+     * @throws IllegalArgumentException if the topic filters are empty
+     * @throws InvalidTopicException    if any topic filter is not a valid MQTT topic filter
+     * @since 3.4.5
+     */
+    void addCallback(Callback callback, Set<String> topicFilters);
+
     /**
      * Returns true if a callbacks for the specific callback class is registered, false otherwise.
      *
@@ -71,6 +97,48 @@ public interface CallbackRegistry {
      */
     <T extends Callback> List<T> getCallbacks(Class<T> callbackClass);
 
+    /**
+     * Returns a list of all callbacks for a specific callback class which must be called for a PUBLISH
+     * with the given topic. These are all callbacks without topic filters and all callbacks with at least
+     * one matching topic filter, in the same order as {@link #getCallbacks(Class)}.
+     * <p/>
+     * This parses the topic, use {@link #getCallbacks(Class, ParsedTopic)} with
+     * {@link com.hivemq.spi.message.PUBLISH#getParsedTopic()} if the PUBLISH is available.
+     *
+     * @param callbackClass interface of the callback for which the
+     *                      classes should be retrieved
+     * @param topic         the topic of the PUBLISH
+     * @return all callbacks found for the callbackClass and topic
+     * @since 3.4.5
+     */
+    <T extends Callback> List<T> getCallbacks(Class<T> callbackClass, String topic);
+
+    /**
+     * Returns a list of all callbacks for a specific callback class which must be called for a PUBLISH
+     * with the given parsed topic, like {@link #getCallbacks(Class, String)}. The topic is not parsed again,
+     * the topic filters are looked up with {@link com.hivemq.spi.topic.TopicFilterTrie#getMatching(ParsedTopic)}.
+     *
+     * @param callbackClass interface of the callback for which the
+     *                      classes should be retrieved
+     * @param topic         the parsed topic of the PUBLISH
+     * @return all callbacks found for the callbackClass and topic
+     * @since 3.4.5
+     */
+    <T extends Callback> List<T> getCallbacks(Class<T> callbackClass, ParsedTopic topic);
+
+    /**
+     * Returns the current snapshot of all available callbacks for a specific callback class, sorted by priority.
+     * <p/>
+     * The snapshot is only replaced when a callback is added or removed, so calling this method doesn't allocate
+     * or sort. Use this instead of {@link #getCallbacks(Class)} for callbacks which are called on every message.
+     *
+     * @param callbackClass interface of the callback for which the
+     *                      snapshot should be retrieved
+     * @return the current {@link CallbackSnapshot} for the callbackClass, which is empty if no callback is available
+     * @since 3.4.5
+     */
+    <T extends Callback> CallbackSnapshot<T> getCallbackSnapshot(Class<T> callbackClass);
+
     /**
      * Returns a set of all callback interfaces for which callbacks are available.
      *
@@ -115,4 +183,14 @@ public interface CallbackRegistry {
      * of your {@link ScheduledCallback} is static, it's not recommended to do a manual reload.
      */
     void reloadScheduledCallbackExpression(final ScheduledCallback scheduledCallback);
+
+    /**
+     * Manually triggers a reload of the {@link com.hivemq.spi.callback.schedule.Schedule} of an {@link IntervalScheduledCallback}.
+     * <br/>
+     * By default, the schedule of an {@link IntervalScheduledCallback} doesn't get reloaded.
+     * A run which is currently running is not interrupted, the next run is scheduled with the new schedule.
+     *
+     * @since 3.4.5
+     */
+    void reloadSchedule(final IntervalScheduledCallback intervalScheduledCallback);
 }
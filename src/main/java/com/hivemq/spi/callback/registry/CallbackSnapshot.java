@@ -0,0 +1,243 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.registry;
+
+import com.google.common.collect.ImmutableList;
+import com.hivemq.spi.annotations.Immutable;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.ThreadSafe;
+import com.hivemq.spi.callback.Callback;
+import com.hivemq.spi.callback.SynchronousCallback;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * An immutable, sorted snapshot of the callbacks of a callback class.
+ * <p/>
+ * {@link SynchronousCallback}s are sorted by their priority (lower numbers first) when the snapshot is created,
+ * callbacks with the same priority and all other callbacks keep the order in which they were added. The priorities
+ * are only read when the snapshot is created.
+ * <p/>
+ * The callbacks are called on every message, so the snapshot is made for dispatching without allocation:
+ * <pre>
+ * final CallbackSnapshot&lt;OnPublishReceivedCallback&gt; snapshot = registry.getCallbackSnapshot(OnPublishReceivedCallback.class);
+ * for (int i = 0; i &lt; snapshot.size(); i++) {
+ *     snapshot.get(i).onPublishReceived(publish, clientData);
+ * }
+ * </pre>
+ * When a callback is added or removed, the registry replaces the snapshot with a new snapshot with a
+ * higher version, snapshots which were obtained before are never changed.
+ *
+ * @param <T> the callback class
+ * @since 3.4.5
+ */
+@Immutable
+@ThreadSafe
+public final class CallbackSnapshot<T extends Callback> {
+
+    private static final Comparator<Callback> PRIORITY_ORDER = new Comparator<Callback>() {
+        @Override
+        public int compare(final Callback o1, final Callback o2) {
+            return Integer.compare(priority(o1), priority(o2));
+        }
+    };
+
+    private final Class<T> callbackClass;
+    private final T[] callbacks;
+    private final long version;
+
+    private CallbackSnapshot(final Class<T> callbackClass, final T[] callbacks, final long version) {
+        this.callbackClass = callbackClass;
+        this.callbacks = callbacks;
+        this.version = version;
+    }
+
+    /**
+     * Creates a snapshot without callbacks.
+     *
+     * @param callbackClass the callback class
+     * @return a snapshot with version 0
+     * @throws NullPointerException if the callback class is <code>null</code>
+     */
+    @NotNull
+    public static <T extends Callback> CallbackSnapshot<T> empty(@NotNull final Class<T> callbackClass) {
+        checkNotNull(callbackClass, "Callback class must not be null");
+        return new CallbackSnapshot<>(callbackClass, newArray(callbackClass, 0), 0);
+    }
+
+    /**
+     * Creates a sorted snapshot of callbacks.
+     *
+     * @param callbackClass the callback class
+     * @param callbacks     the callbacks in the order in which they were added
+     * @param version       the version of the snapshot
+     * @return the snapshot
+     * @throws NullPointerException if the callback class, the callbacks or any callback is <code>null</code>
+     */
+    @NotNull
+    public static <T extends Callback> CallbackSnapshot<T> of(@NotNull final Class<T> callbackClass,
+                                                              @NotNull final Collection<? extends T> callbacks,
+                                                              final long version) {
+        checkNotNull(callbackClass, "Callback class must not be null");
+        checkNotNull(callbacks, "Callbacks must not be null");
+
+        final T[] array = callbacks.toArray(newArray(callbackClass, callbacks.size()));
+        for (final T callback : array) {
+            checkNotNull(callback, "Callback must not be null");
+        }
+        //Arrays.sort is stable for objects, so callbacks with the same priority keep their order
+        Arrays.sort(array, PRIORITY_ORDER);
+        return new CallbackSnapshot<>(callbackClass, array, version);
+    }
+
+    /**
+     * Creates a new snapshot with an additional callback and the next version. This snapshot is not changed.
+     *
+     * @param callback the callback to add
+     * @return the new snapshot
+     * @throws NullPointerException if the callback is <code>null</code>
+     */
+    @NotNull
+    public CallbackSnapshot<T> with(@NotNull final T callback) {
+        checkNotNull(callback, "Callback must not be null");
+        final T[] array = Arrays.copyOf(callbacks, callbacks.length + 1);
+
+        //Insert after all callbacks with the same or a higher priority, so the order stays stable
+        final int priority = priority(callback);
+        int index = callbacks.length;
+        while (index > 0 && priority(array[index - 1]) > priority) {
+            array[index] = array[index - 1];
+            index--;
+        }
+        array[index] = callback;
+        return new CallbackSnapshot<>(callbackClass, array, version + 1);
+    }
+
+    /**
+     * Creates a new snapshot without a callback and the next version. This snapshot is not changed.
+     *
+     * @param callback the callback to remove
+     * @return the new snapshot or this snapshot if it doesn't contain the callback
+     * @throws NullPointerException if the callback is <code>null</code>
+     */
+    @NotNull
+    public CallbackSnapshot<T> without(@NotNull final Callback callback) {
+        checkNotNull(callback, "Callback must not be null");
+        final int index = indexOf(callback);
+        if (index < 0) {
+            return this;
+        }
+        final T[] array = newArray(callbackClass, callbacks.length - 1);
+        System.arraycopy(callbacks, 0, array, 0, index);
+        System.arraycopy(callbacks, index + 1, array, index, array.length - index);
+        return new CallbackSnapshot<>(callbackClass, array, version + 1);
+    }
+
+    /**
+     * @param index the index of the callback
+     * @return the callback at the index
+     * @throws ArrayIndexOutOfBoundsException if the index is negative or not less than {@link #size()}
+     */
+    @NotNull
+    public T get(final int index) {
+        return callbacks[index];
+    }
+
+    /**
+     * @return the number of callbacks
+     */
+    public int size() {
+        return callbacks.length;
+    }
+
+    /**
+     * @return <code>true</code> if the snapshot contains no callbacks
+     */
+    public boolean isEmpty() {
+        return callbacks.length == 0;
+    }
+
+    /**
+     * @param callback the callback
+     * @return <code>true</code> if the snapshot contains the callback
+     */
+    public boolean contains(@NotNull final Callback callback) {
+        return indexOf(callback) >= 0;
+    }
+
+    /**
+     * The version is increased every time the registry replaces the snapshot, so it can be used to find out
+     * if a snapshot or anything derived from it is outdated.
+     *
+     * @return the version of the snapshot
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * @return the callback class
+     */
+    @NotNull
+    public Class<T> getCallbackClass() {
+        return callbackClass;
+    }
+
+    /**
+     * @return an immutable list of the callbacks in the order of the snapshot, which is created on every call
+     */
+    @NotNull
+    public List<T> asList() {
+        return ImmutableList.copyOf(callbacks);
+    }
+
+    private int indexOf(final Callback callback) {
+        for (int i = 0; i < callbacks.length; i++) {
+            if (callbacks[i].equals(callback)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int priority(final Callback callback) {
+        if (callback instanceof SynchronousCallback) {
+            return ((SynchronousCallback) callback).priority();
+        }
+        return 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] newArray(final Class<T> callbackClass, final int length) {
+        return (T[]) Array.newInstance(callbackClass, length);
+    }
+
+    @Override
+    public String toString() {
+        return "CallbackSnapshot{" +
+                "callbackClass=" + callbackClass.getSimpleName() +
+                ", callbacks=" + Arrays.toString(callbacks) +
+                ", version=" + version +
+                '}';
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.schedule;
+
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.callback.AsynchronousCallback;
+import com.hivemq.spi.callback.registry.CallbackRegistry;
+
+/**
+ * This callback gets called periodically based on the fixed-rate or fixed-delay {@link Schedule} provided in the
+ * {@link IntervalScheduledCallback#schedule()} method.
+ * <p/>
+ * In contrast to the {@link ScheduledCallback}, which is limited to cron expressions, the period can be as short
+ * as a millisecond. By default a run is skipped if the previous run is still running, so slow runs don't pile up.
+ * <p/>
+ * This callback is especially useful for recurring tasks with a short period like flushing metrics.
+ *
+ * @since 3.4.5
+ */
+public interface IntervalScheduledCallback extends AsynchronousCallback {
+
+    /**
+     * This method gets executed on the given schedule
+     */
+    void execute();
+
+    /**
+     * This method returns the schedule for the callback.
+     * <p/>
+     * Note that this method only gets called once when adding the callback to the
+     * {@link CallbackRegistry}. If you have a dynamic schedule in this method, you must manually call the
+     * {@link CallbackRegistry#reloadSchedule(IntervalScheduledCallback)} method in order to reload the schedule
+     *
+     * @return the schedule
+     */
+    @NotNull
+    Schedule schedule();
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.schedule;
+
+import com.hivemq.spi.annotations.Immutable;
+import com.hivemq.spi.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A fixed-rate or fixed-delay schedule for an {@link IntervalScheduledCallback} with millisecond precision.
+ * <p/>
+ * Example for a callback which runs every 5 seconds, with up to 500 milliseconds jitter so the cluster nodes
+ * don't run it at the same time:
+ * <pre>
+ * Schedule.fixedRate(5, TimeUnit.SECONDS)
+ *         .jitter(500, TimeUnit.MILLISECONDS)
+ *         .build();
+ * </pre>
+ *
+ * @since 3.4.5
+ */
+@Immutable
+public class Schedule {
+
+    /**
+     * The kind of a schedule
+     */
+    public enum Type {
+        /**
+         * runs are started every period, independent of the duration of the runs
+         */
+        FIXED_RATE,
+        /**
+         * the next run is started one period after the previous run finished, so runs never overlap
+         */
+        FIXED_DELAY
+    }
+
+    /**
+     * The behaviour if a run of a {@link Type#FIXED_RATE} schedule is due while the previous run is still running
+     */
+    public enum OverlapPolicy {
+        /**
+         * the run is skipped and counted by the {@link com.hivemq.spi.metrics.HiveMQMetrics#PLUGIN_COUNTER_SCHEDULED_MISSED_RUNS} metric
+         */
+        SKIP_IF_RUNNING,
+        /**
+         * the run is started anyway, so runs may overlap
+         */
+        ALLOW_OVERLAP
+    }
+
+    private final Type type;
+    private final long periodMillis;
+    private final long initialDelayMillis;
+    private final long jitterMillis;
+    private final OverlapPolicy overlapPolicy;
+
+    private Schedule(final Type type, final long periodMillis, final long initialDelayMillis,
+                     final long jitterMillis, final OverlapPolicy overlapPolicy) {
+        this.type = type;
+        this.periodMillis = periodMillis;
+        this.initialDelayMillis = initialDelayMillis;
+        this.jitterMillis = jitterMillis;
+        this.overlapPolicy = overlapPolicy;
+    }
+
+    /**
+     * Creates a builder for a schedule whose runs are started every period.
+     *
+     * @param period the period between the starts of two runs
+     * @param unit   the unit of the period
+     * @return the Builder
+     * @throws IllegalArgumentException if the period is less than 1 millisecond
+     */
+    @NotNull
+    public static Builder fixedRate(final long period, @NotNull final TimeUnit unit) {
+        return new Builder(Type.FIXED_RATE, period, unit);
+    }
+
+    /**
+     * Creates a builder for a schedule whose next run is started one period after the previous run finished.
+     *
+     * @param delay the delay between the end of a run and the start of the next run
+     * @param unit  the unit of the delay
+     * @return the Builder
+     * @throws IllegalArgumentException if the delay is less than 1 millisecond
+     */
+    @NotNull
+    public static Builder fixedDelay(final long delay, @NotNull final TimeUnit unit) {
+        return new Builder(Type.FIXED_DELAY, delay, unit);
+    }
+
+    /**
+     * @return the kind of the schedule
+     */
+    @NotNull
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return the period or delay in milliseconds
+     */
+    public long getPeriodMillis() {
+        return periodMillis;
+    }
+
+    /**
+     * @return the delay of the first run after the callback was added, in milliseconds
+     */
+    public long getInitialDelayMillis() {
+        return initialDelayMillis;
+    }
+
+    /**
+     * @return the maximum random delay in milliseconds which is added to every run
+     */
+    public long getJitterMillis() {
+        return jitterMillis;
+    }
+
+    /**
+     * @return the behaviour if a run is due while the previous run is still running
+     */
+    @NotNull
+    public OverlapPolicy getOverlapPolicy() {
+        return overlapPolicy;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final Schedule schedule = (Schedule) o;
+
+        return periodMillis == schedule.periodMillis &&
+                initialDelayMillis == schedule.initialDelayMillis &&
+                jitterMillis == schedule.jitterMillis &&
+                type == schedule.type &&
+                overlapPolicy == schedule.overlapPolicy;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = type.hashCode();
+        result = 31 * result + (int) (periodMillis ^ (periodMillis >>> 32));
+        result = 31 * result + (int) (initialDelayMillis ^ (initialDelayMillis >>> 32));
+        result = 31 * result + (int) (jitterMillis ^ (jitterMillis >>> 32));
+        result = 31 * result + overlapPolicy.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Schedule{" +
+                "type=" + type +
+                ", periodMillis=" + periodMillis +
+                ", initialDelayMillis=" + initialDelayMillis +
+                ", jitterMillis=" + jitterMillis +
+                ", overlapPolicy=" + overlapPolicy +
+                '}';
+    }
+
+    /**
+     * A builder which allows to conveniently build a Schedule with a fluent API
+     */
+    public static class Builder {
+
+        private final Type type;
+        private final long periodMillis;
+        private long initialDelayMillis;
+        private long jitterMillis;
+        private OverlapPolicy overlapPolicy = OverlapPolicy.SKIP_IF_RUNNING;
+
+        private Builder(final Type type, final long period, final TimeUnit unit) {
+            checkNotNull(unit, "TimeUnit must not be null");
+            this.type = type;
+            this.periodMillis = unit.toMillis(period);
+            checkArgument(periodMillis > 0, "Period must be at least 1 millisecond");
+        }
+
+        /**
+         * Sets the delay of the first run after the callback was added. Defaults to 0.
+         *
+         * @param delay the initial delay
+         * @param unit  the unit of the delay
+         * @return the Builder
+         */
+        public Builder initialDelay(final long delay, @NotNull final TimeUnit unit) {
+            checkArgument(delay >= 0, "Initial delay must not be negative");
+            checkNotNull(unit, "TimeUnit must not be null");
+            this.initialDelayMillis = unit.toMillis(delay);
+            return this;
+        }
+
+        /**
+         * Sets the maximum random delay which is added to every run, so the runs on different cluster nodes
+         * are not synchronized. The jitter must be less than the period. Defaults to 0.
+         *
+         * @param jitter the maximum jitter
+         * @param unit   the unit of the jitter
+         * @return the Builder
+         */
+        public Builder jitter(final long jitter, @NotNull final TimeUnit unit) {
+            checkArgument(jitter >= 0, "Jitter must not be negative");
+            checkNotNull(unit, "TimeUnit must not be null");
+            this.jitterMillis = unit.toMillis(jitter);
+            return this;
+        }
+
+        /**
+         * Sets the behaviour if a run of a fixed-rate schedule is due while the previous run is still running.
+         * Defaults to {@link OverlapPolicy#SKIP_IF_RUNNING}. Runs of a fixed-delay schedule never overlap.
+         *
+         * @param overlapPolicy the overlap policy
+         * @return the Builder
+         */
+        public Builder overlapPolicy(@NotNull final OverlapPolicy overlapPolicy) {
+            checkNotNull(overlapPolicy, "Overlap policy must not be null");
+            this.overlapPolicy = overlapPolicy;
+            return this;
+        }
+
+        /**
+         * @return the Schedule
+         * @throws IllegalArgumentException if the jitter is not less than the period
+         */
+        public Schedule build() {
+            checkArgument(jitterMillis < periodMillis, "Jitter must be less than the period");
+            return new Schedule(type, periodMillis, initialDelayMillis, jitterMillis, overlapPolicy);
+        }
+    }
+}
@@ -47,4 +47,22 @@ public class ScheduleExpressions {
 
         return format(minutePattern, minutes);
     }
+
+    /**
+     * Returns a quartz-style cron expression which is used to schedule something every X seconds.
+     * <p/>
+     * The seconds must be a divisor of 60, otherwise the cron expression restarts at the beginning of every minute.
+     * Use an {@link IntervalScheduledCallback} for other periods.
+     *
+     * @param seconds the seconds
+     * @return the quartz-style cron expression for the number of seconds passed
+     * @throws IllegalArgumentException if the number of seconds is < 1 or not a divisor of 60
+     * @since 3.4.5
+     */
+    public static String everySeconds(final int seconds) {
+        final String secondPattern = "0/{0,number,#} * * * * ?";
+        checkArgument(seconds > 0 && 60 % seconds == 0, "Only a divisor of 60 can be used as number of seconds for scheduling. %s was provided.", seconds);
+
+        return format(secondPattern, seconds);
+    }
 }
@@ -25,6 +25,8 @@ import com.hivemq.spi.callback.registry.CallbackRegistry;
  * {@link ScheduledCallback#cronExpression()} method.
  * <p/>
  * This callback is especially useful for recurring tasks like maintenance tasks.
+ * <p/>
+ * For periods shorter than a minute or fixed-rate and fixed-delay schedules, use the {@link IntervalScheduledCallback}.
  *
  * @author Dominik Obermaier
  * @since 2.0
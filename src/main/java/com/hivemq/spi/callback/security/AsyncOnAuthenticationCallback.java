@@ -0,0 +1,65 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.callback.security;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.callback.AsynchronousCallback;
+import com.hivemq.spi.callback.exception.AuthenticationException;
+import com.hivemq.spi.security.ClientCredentialsData;
+
+/**
+ * The non-blocking variant of the {@link OnAuthenticationCallback}, which gets called when a CONNECT message
+ * arrives and is meant to perform the authentication of a client.
+ * <p/>
+ * The credentials check returns a {@link ListenableFuture} instead of blocking. This is useful if the credentials
+ * are checked by a remote system like LDAP or a HTTP service: the CONNECT is parked without occupying a HiveMQ thread
+ * until the future is done. Use non-blocking clients or the {@link com.hivemq.spi.services.PluginExecutorService}
+ * to complete the future.
+ * <p/>
+ * AsyncOnAuthenticationCallbacks and {@link OnAuthenticationCallback}s can be added together, only one of them
+ * must return a positive result to successfully authenticate the client.
+ * <p/>
+ * If the future fails with an {@link AuthenticationException}, no additional credentials checks in other plugins
+ * are made and the client is disconnected immediately with an CONNACK with the given return code. If the future
+ * fails with any other exception or is not done within {@link #timeoutMillis()}, the result counts as negative.
+ * <p/>
+ * Note: It's your responsibility to use proper caching in the <code>checkCredentials</code> method
+ *
+ * @since 3.4.5
+ */
+public interface AsyncOnAuthenticationCallback extends AsynchronousCallback {
+
+    /**
+     * Checks the credentials after a CONNECT message arrives. This method must not block.
+     *
+     * @param clientData the client credentials
+     * @return a {@link ListenableFuture} which succeeds with <code>true</code> when the authentication
+     * was successful, with <code>false</code> otherwise, or fails with an {@link AuthenticationException}
+     * when you want the client to disconnect immediately with a given return code
+     */
+    @NotNull
+    ListenableFuture<Boolean> checkCredentials(@NotNull ClientCredentialsData clientData);
+
+    /**
+     * The time HiveMQ waits for the future of {@link #checkCredentials(ClientCredentialsData)}.
+     * If the future is not done in time, it is cancelled and the result counts as negative.
+     *
+     * @return the timeout in milliseconds, a good default would be 10000
+     */
+    long timeoutMillis();
+}
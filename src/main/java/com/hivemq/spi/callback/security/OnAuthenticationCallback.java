@@ -32,6 +32,8 @@ import com.hivemq.spi.security.ClientCredentialsData;
  * disconnected immediately with an CONNACK with the given return code.
  * <p/>
  * Note: It's your responsibility to use proper caching in the <code>checkCredentials</code> method
+ * <p/>
+ * If the credentials are checked by a remote system, consider the non-blocking {@link AsyncOnAuthenticationCallback}
  *
  * @author Christian Goetz
  * @since 1.4
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.message;
+
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A {@link ModifiablePUBLISH} which shares one {@link PUBLISH} with all other subscribers of the message
+ * until the topic or the payload is set.
+ * <p/>
+ * {@link com.hivemq.spi.callback.events.BeforePublishSendCallback}s are called once per subscriber and most of
+ * them only read the message. Instead of copying the message for every subscriber, all CopyOnWritePUBLISHes of a
+ * message read from the same PUBLISH. Only the topic or payload which is set is stored in the CopyOnWritePUBLISH,
+ * so the changes are only visible to this subscriber.
+ * <p/>
+ * The shared PUBLISH must not be modified while it is used by CopyOnWritePUBLISHes. As long as the payload was not
+ * set, {@link #getPayload()} returns a copy of the shared payload for this subscriber, changes of this copy are not
+ * part of the message. Use {@link #getPayloadBuffer()} to read the payload without a copy and
+ * {@link #setPayload(byte[])} to change the payload.
+ *
+ * @since 3.4.5
+ */
+public class CopyOnWritePUBLISH implements ModifiablePUBLISH {
+
+    private final PUBLISH original;
+
+    private boolean topicModified;
+    private String topic;
+
+    private boolean payloadModified;
+    private byte[] payload;
+    private ByteBuffer payloadBuffer;
+
+    private byte[] payloadCopy;
+
+    /**
+     * @param original the PUBLISH which is shared with all other subscribers
+     * @throws NullPointerException if the original is <code>null</code>
+     */
+    public CopyOnWritePUBLISH(@NotNull final PUBLISH original) {
+        checkNotNull(original, "PUBLISH must not be null");
+        this.original = original;
+    }
+
+    /**
+     * @return the payload of the message, which is a copy of the shared payload if the payload was not set
+     */
+    @Override
+    public byte[] getPayload() {
+        if (!payloadModified) {
+            if (payloadCopy == null) {
+                final ByteBuffer sharedPayload = original.getPayloadBuffer();
+                if (sharedPayload != null) {
+                    payloadCopy = Payloads.toArray(sharedPayload);
+                }
+            }
+            return payloadCopy;
+        }
+        if (payload == null && payloadBuffer != null) {
+            payload = Payloads.toArray(payloadBuffer);
+        }
+        return payload;
+    }
+
+    @Override
+    public void setPayload(final byte[] payload) {
+        this.payloadModified = true;
+        this.payload = payload;
+        this.payloadBuffer = null;
+        this.payloadCopy = null;
+    }
+
+    @Nullable
+    @Override
+    public ByteBuffer getPayloadBuffer() {
+        if (!payloadModified) {
+            return original.getPayloadBuffer();
+        }
+        return Payloads.toBuffer(payloadBuffer, payload);
+    }
+
+    @Override
+    public void setPayloadBuffer(@Nullable final ByteBuffer payload) {
+        this.payloadModified = true;
+        this.payloadBuffer = Payloads.readOnlyView(payload);
+        this.payload = null;
+        this.payloadCopy = null;
+    }
+
+    @Override
+    public String getTopic() {
+        return topicModified ? topic : original.getTopic();
+    }
+
+    @Override
+    public void setTopic(final String topic) {
+        this.topicModified = true;
+        this.topic = topic;
+    }
+
+    @Override
+    public boolean isDuplicateDelivery() {
+        return original.isDuplicateDelivery();
+    }
+
+    @Override
+    public boolean isRetain() {
+        return original.isRetain();
+    }
+
+    @Override
+    public QoS getQoS() {
+        return original.getQoS();
+    }
+
+    /**
+     * @return <code>true</code> if the topic or the payload was set for this subscriber
+     */
+    public boolean isModified() {
+        return topicModified || payloadModified;
+    }
+
+    /**
+     * @return the PUBLISH which is shared with all other subscribers, without the changes of this subscriber
+     */
+    @NotNull
+    public PUBLISH getOriginal() {
+        return original;
+    }
+
+    /**
+     * @return a PUBLISH with the changes of this subscriber, which is the shared PUBLISH itself if nothing was changed
+     */
+    @NotNull
+    public PUBLISH toPUBLISH() {
+        if (!isModified()) {
+            return original;
+        }
+        return copy();
+    }
+
+    /**
+     * @return a copy of the shared PUBLISH with the changes of this subscriber
+     */
+    @Override
+    public PUBLISH copy() {
+        final PUBLISH publish = PUBLISH.copy(original);
+        if (topicModified) {
+            publish.setTopic(topic);
+        }
+        if (payloadModified) {
+            if (payloadBuffer != null) {
+                publish.setPayload(Payloads.toArray(payloadBuffer));
+            } else {
+                publish.setPayload(payload);
+            }
+        }
+        return publish;
+    }
+
+    @Override
+    public String toString() {
+        return "CopyOnWritePUBLISH{" +
+                "topic='" + getTopic() + '\'' +
+                ", modified=" + isModified() +
+                '}';
+    }
+}
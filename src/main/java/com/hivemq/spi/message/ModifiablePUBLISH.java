@@ -1,5 +1,7 @@
 package com.hivemq.spi.message;
 
+import java.nio.ByteBuffer;
+
 /**
  * This interface allows the safe modification of a MQTT PUBLISH message, in the {@link com.hivemq.spi.callback.events.BeforePublishSendCallback}.
  *
@@ -9,6 +11,11 @@ package com.hivemq.spi.message;
  */
 public interface ModifiablePUBLISH {
     /**
+     * Since 3.4.5 the {@link ModifiablePUBLISH} of a {@link com.hivemq.spi.callback.events.BeforePublishSendCallback}
+     * can be a {@link CopyOnWritePUBLISH}, which returns a copy of the payload for every subscriber until the payload is set.
+     * Changes of this copy are not sent to the subscriber. Callbacks which only read the payload should use
+     * {@link #getPayloadBuffer()} instead, which does not copy the payload.
+     *
      * @return the payload of the message. Do not modify the returned {@code byte[]} directly, as the resulting behavior is undefined and can have far reaching consequences, use {@code setPayload()} method instead.
      */
     public byte[] getPayload();
@@ -24,6 +31,25 @@ public interface ModifiablePUBLISH {
      */
     public void setPayload(final byte[] payload);
 
+    /**
+     * @return a read-only view of the payload of the message, which does not copy the payload and is
+     * only valid for the duration of the callback
+     * @since 3.4.5
+     */
+    public ByteBuffer getPayloadBuffer();
+
+    /**
+     * By using this setter the payload of this {@link PUBLISH} can be modified before it is sent to a client,
+     * without copying the payload. The remaining bytes of the buffer are the new payload, the buffer
+     * must not be modified afterwards.
+     * <p>
+     * The same restrictions as for {@link #setPayload(byte[])} apply.
+     *
+     * @param payload a {@link ByteBuffer} containing the modified payload
+     * @since 3.4.5
+     */
+    public void setPayloadBuffer(final ByteBuffer payload);
+
     /**
      * @return the topic of the message
      */
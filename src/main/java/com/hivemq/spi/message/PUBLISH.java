@@ -16,11 +16,27 @@
 
 package com.hivemq.spi.message;
 
+import com.hivemq.spi.annotations.Nullable;
+import com.hivemq.spi.topic.ParsedTopic;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+
 /**
  * A MQTT PUBLISH message
  * <p/>
  * <p/>
  * Note that a PUBLISH message is considered equal if the topic Strings are equal
+ * <p/>
+ * The payload can be set as <code>byte[]</code> or as {@link ByteBuffer}. A buffer is not copied, so it can wrap
+ * pooled or direct memory. The <code>byte[]</code> of a payload which was set as buffer is only created
+ * when {@link #getPayload()} is called, use {@link #getPayloadBuffer()} to avoid this copy.
+ * <p/>
+ * A payload which was set as buffer by HiveMQ is only valid for the duration of the callback which receives
+ * the PUBLISH, because the memory of the buffer can be released and reused afterwards. Use {@link #copy(PUBLISH)}
+ * or {@link #getPayload()} if the PUBLISH or its payload is used after the callback returned.
  *
  * @author Dominik Obermaier
  * @since 1.4
@@ -29,6 +45,12 @@ public class PUBLISH extends MessageWithID {
 
     private byte[] payload;
 
+    /**
+     * read-only view of the payload, if the payload was set as buffer. Buffers are not serializable,
+     * the payload is serialized as <code>byte[]</code> instead
+     */
+    private transient ByteBuffer payloadBuffer;
+
     private String topic;
 
     private boolean duplicateDelivery;
@@ -44,6 +66,11 @@ public class PUBLISH extends MessageWithID {
      */
     private int ttl = -1;
 
+    /**
+     * The topic split into its levels, parsed on first access
+     */
+    private transient ParsedTopic parsedTopic;
+
     public PUBLISH() {
     }
 
@@ -59,14 +86,61 @@ public class PUBLISH extends MessageWithID {
     }
 
     /**
+     * Returns the payload of the PUBLISH message. If the payload was set as buffer, it is copied
+     * to a <code>byte[]</code> on the first call. From then on the <code>byte[]</code> is the payload,
+     * changes of its content are also visible in {@link #getPayloadBuffer()}.
+     *
      * @return the payload of the PUBLISH message
      */
     public byte[] getPayload() {
+        if (payload == null && payloadBuffer != null) {
+            payload = Payloads.toArray(payloadBuffer);
+            payloadBuffer = null;
+        }
         return payload;
     }
 
     public void setPayload(final byte[] payload) {
         this.payload = payload;
+        this.payloadBuffer = null;
+    }
+
+    /**
+     * Returns a read-only view of the payload without copying it. Every call returns a new view
+     * with its own position and limit.
+     * <p/>
+     * The view is only valid for the duration of the callback which receives the PUBLISH, copy the payload if
+     * it is used afterwards.
+     *
+     * @return the payload of the PUBLISH message or <code>null</code> if the PUBLISH has no payload
+     * @since 3.4.5
+     */
+    @Nullable
+    public ByteBuffer getPayloadBuffer() {
+        return Payloads.toBuffer(payloadBuffer, payload);
+    }
+
+    /**
+     * Sets the payload without copying it. The remaining bytes of the buffer are the payload, later changes
+     * of the position or limit of the buffer don't affect the payload, but changes of its content do.
+     *
+     * @param payload the payload
+     * @since 3.4.5
+     */
+    public void setPayloadBuffer(@Nullable final ByteBuffer payload) {
+        this.payloadBuffer = Payloads.readOnlyView(payload);
+        this.payload = null;
+    }
+
+    /**
+     * @return the size of the payload in bytes, without copying the payload
+     * @since 3.4.5
+     */
+    public int getPayloadSize() {
+        if (payloadBuffer != null) {
+            return payloadBuffer.remaining();
+        }
+        return payload != null ? payload.length : 0;
     }
 
     /**
@@ -80,6 +154,27 @@ public class PUBLISH extends MessageWithID {
         this.topic = topic;
     }
 
+    /**
+     * Returns the topic of the PUBLISH message split into its levels. The topic is only parsed once,
+     * so callbacks and permission checks can share the parsed topic instead of splitting the topic again.
+     *
+     * @return the parsed topic of the PUBLISH message or <code>null</code> if the PUBLISH has no topic
+     * @since 3.4.5
+     */
+    @Nullable
+    public ParsedTopic getParsedTopic() {
+        final String topic = getTopic();
+        if (topic == null) {
+            return null;
+        }
+        ParsedTopic parsedTopic = this.parsedTopic;
+        if (parsedTopic == null || parsedTopic.getTopic() != topic) {
+            parsedTopic = ParsedTopic.of(topic);
+            this.parsedTopic = parsedTopic;
+        }
+        return parsedTopic;
+    }
+
     /**
      * @return <code>true</code> if the message is a duplicate message
      */
@@ -143,7 +238,12 @@ public class PUBLISH extends MessageWithID {
         final PUBLISH publish = new PUBLISH();
         publish.setQoS(original.getQoS());
         publish.setRetain(original.isRetain());
-        publish.setPayload(original.getPayload());
+        if (original.payload == null && original.payloadBuffer != null) {
+            //The buffer can wrap pooled memory which is reused after the callback, so the bytes are copied
+            publish.setPayload(Payloads.toArray(original.payloadBuffer));
+        } else {
+            publish.setPayload(original.getPayload());
+        }
         publish.setTopic(original.getTopic());
         publish.setDuplicateDelivery(original.isDuplicateDelivery());
         publish.setMessageId(original.getMessageId());
@@ -151,6 +251,19 @@ public class PUBLISH extends MessageWithID {
         return publish;
     }
 
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeObject(payload == null && payloadBuffer != null ? Payloads.toArray(payloadBuffer) : null);
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        final byte[] bufferPayload = (byte[]) in.readObject();
+        if (bufferPayload != null) {
+            payload = bufferPayload;
+        }
+    }
+
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.message;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Conversions between the <code>byte[]</code> and the {@link ByteBuffer} representation of payloads.
+ *
+ * @since 3.4.5
+ */
+class Payloads {
+
+    private Payloads() {
+        //Don't instantiate
+    }
+
+    /**
+     * @return a read-only view of the remaining bytes of the buffer, which shares the memory of the buffer
+     */
+    static ByteBuffer readOnlyView(final ByteBuffer buffer) {
+        if (buffer == null) {
+            return null;
+        }
+        return buffer.slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * @return a read-only buffer with its own position and limit, backed by the payload buffer if available
+     * or by the payload array otherwise
+     */
+    static ByteBuffer toBuffer(final ByteBuffer payloadBuffer, final byte[] payload) {
+        if (payloadBuffer != null) {
+            return payloadBuffer.duplicate();
+        }
+        if (payload != null) {
+            return ByteBuffer.wrap(payload).asReadOnlyBuffer();
+        }
+        return null;
+    }
+
+    /**
+     * @return a copy of the remaining bytes of the buffer, the position of the buffer is not changed
+     */
+    static byte[] toArray(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+}
@@ -16,14 +16,22 @@
 
 package com.hivemq.spi.message;
 
+import com.hivemq.spi.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+
 /**
  * A retained message
+ * <p/>
+ * The message can be set as <code>byte[]</code> or as {@link ByteBuffer}. A buffer is not copied, the
+ * <code>byte[]</code> is only created when {@link #getMessage()} is called.
  *
  * @author Lukas Brandl
  */
 public class RetainedMessage {
     private String topic;
     private byte[] message;
+    private ByteBuffer messageBuffer;
     private QoS qoS;
 
     public RetainedMessage(String topic, byte[] message, QoS qoS) {
@@ -41,12 +49,44 @@ public class RetainedMessage {
         this.topic = topic;
     }
 
+    /**
+     * @return the message, if it was set as buffer it is copied to a <code>byte[]</code> on the first call
+     * and the <code>byte[]</code> is the message from then on
+     */
     public byte[] getMessage() {
+        if (message == null && messageBuffer != null) {
+            message = Payloads.toArray(messageBuffer);
+            messageBuffer = null;
+        }
         return message;
     }
 
     public void setMessage(byte[] message) {
         this.message = message;
+        this.messageBuffer = null;
+    }
+
+    /**
+     * A message which was set as buffer by HiveMQ is only valid for the duration of the call which returned
+     * the retained message, use {@link #getMessage()} if the message is used afterwards.
+     *
+     * @return a read-only view of the message without copying it or <code>null</code> if there is no message
+     * @since 3.4.5
+     */
+    @Nullable
+    public ByteBuffer getMessageBuffer() {
+        return Payloads.toBuffer(messageBuffer, message);
+    }
+
+    /**
+     * Sets the message without copying it. The remaining bytes of the buffer are the message.
+     *
+     * @param message the message
+     * @since 3.4.5
+     */
+    public void setMessageBuffer(@Nullable ByteBuffer message) {
+        this.messageBuffer = Payloads.readOnlyView(message);
+        this.message = null;
     }
 
     public QoS getQoS() {
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.message;
+
+import com.hivemq.spi.annotations.Immutable;
+import com.hivemq.spi.annotations.NotNull;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The metadata of a retained message without its payload.
+ *
+ * @since 3.4.5
+ */
+@Immutable
+public class RetainedMessageMetadata {
+
+    private final String topic;
+    private final QoS qoS;
+    private final int payloadSize;
+
+    public RetainedMessageMetadata(@NotNull final String topic, @NotNull final QoS qoS, final int payloadSize) {
+        checkNotNull(topic, "Topic must not be null");
+        checkNotNull(qoS, "QoS must not be null");
+        this.topic = topic;
+        this.qoS = qoS;
+        this.payloadSize = payloadSize;
+    }
+
+    /**
+     * @return the topic of the retained message
+     */
+    @NotNull
+    public String getTopic() {
+        return topic;
+    }
+
+    /**
+     * @return the QoS of the retained message
+     */
+    @NotNull
+    public QoS getQoS() {
+        return qoS;
+    }
+
+    /**
+     * @return the size of the payload of the retained message in bytes
+     */
+    public int getPayloadSize() {
+        return payloadSize;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final RetainedMessageMetadata that = (RetainedMessageMetadata) o;
+
+        return topic.equals(that.topic);
+    }
+
+    @Override
+    public int hashCode() {
+        return topic.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "RetainedMessageMetadata{" +
+                "topic='" + topic + '\'' +
+                ", qoS=" + qoS +
+                ", payloadSize=" + payloadSize +
+                '}';
+    }
+}
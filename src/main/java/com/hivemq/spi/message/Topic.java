@@ -19,6 +19,7 @@ package com.hivemq.spi.message;
 import com.google.common.base.Preconditions;
 import com.hivemq.spi.annotations.NotNull;
 import com.hivemq.spi.annotations.Nullable;
+import com.hivemq.spi.topic.ParsedTopic;
 
 import java.io.Serializable;
 
@@ -40,6 +41,11 @@ public class Topic implements Serializable, Comparable<Topic> {
      */
     private final QoS qoS;
 
+    /**
+     * The topic split into its levels, parsed on first access
+     */
+    private transient ParsedTopic parsedTopic;
+
 
     public Topic(@NotNull final String topic, @Nullable final QoS qoS) {
 
@@ -60,6 +66,23 @@ public class Topic implements Serializable, Comparable<Topic> {
         return topic;
     }
 
+    /**
+     * Returns the topic split into its levels. The topic is only parsed once,
+     * so all permission checks and matchers can share the parsed topic.
+     *
+     * @return the parsed topic
+     * @since 3.4.5
+     */
+    @NotNull
+    public ParsedTopic getParsedTopic() {
+        ParsedTopic parsedTopic = this.parsedTopic;
+        if (parsedTopic == null) {
+            parsedTopic = ParsedTopic.of(topic);
+            this.parsedTopic = parsedTopic;
+        }
+        return parsedTopic;
+    }
+
     /**
      * @return the QoS of a Topic
      */
@@ -19,6 +19,22 @@ public class HiveMQMetrics {
     public static final String EXCEPTION_PREFIX = "com.hivemq.exceptions";
     public static final String WEBINTERFACE_EXECUTOR_PREFIX = "com.hivemq.web-ui.executor";
 
+    /**
+     * the prefix of the metrics of {@link com.hivemq.spi.aop.cache.Cached} methods,
+     * see {@link com.hivemq.spi.aop.cache.CacheMetrics}
+     *
+     * @since 3.4.5
+     */
+    public static final String PLUGIN_CACHE_PREFIX = "com.hivemq.plugin.cache";
+
+    /**
+     * the prefix of the metrics of the circuit breakers of {@link com.hivemq.spi.callback.guard.GuardedCallback}s,
+     * see {@link com.hivemq.spi.callback.guard.CircuitBreakerMetrics}
+     *
+     * @since 3.4.5
+     */
+    public static final String PLUGIN_CIRCUIT_BREAKER_PREFIX = "com.hivemq.plugin.callbacks.circuit-breaker";
+
     @Deprecated
     public static final String SINGLE_WRITER_PREFIX = "com.hivemq.persistence.executor";
 
@@ -698,6 +714,88 @@ public class HiveMQMetrics {
     public static final HiveMQMetric<Counter> PLUGIN_EXECUTOR_SERVICE_SCHEDULED_OVERRUN =
             HiveMQMetric.valueOf(PLUGIN_EXECUTOR_PREFIX + ".scheduled.overrun", Counter.class);
 
+    /**
+     * represents a {@link Counter}, which counts the runs of {@link com.hivemq.spi.callback.schedule.IntervalScheduledCallback}s
+     * which were skipped because the previous run was still running
+     *
+     * @since 3.4.5
+     */
+    public static final HiveMQMetric<Counter> PLUGIN_COUNTER_SCHEDULED_MISSED_RUNS =
+            HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.scheduled.missed-runs", Counter.class);
+
+    /**
+     * represents a {@link Timer}, which measures the mean execution time (in nanoseconds)
+     * of the {@link com.hivemq.spi.callback.schedule.IntervalScheduledCallback} callback
+     *
+     * @since 3.4.5
+     */
+    public static final HiveMQMetric<Timer> PLUGIN_TIMER_INTERVAL_SCHEDULED =
+            HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.interval-scheduled.time", Timer.class);
+
+    /**
+     * represents a {@link Gauge}, which holds the number of tasks which wait in all lanes of the
+     * {@link PluginExecutorService}, see {@link com.hivemq.spi.services.PluginExecutorMetrics} for the single lanes
+     *
+     * @since 3.4.5
+     */
+    public static final HiveMQMetric<Gauge<Number>> PLUGIN_EXECUTOR_SERVICE_LANES_QUEUE_SIZE =
+            HiveMQMetric.gaugeValue(PLUGIN_EXECUTOR_PREFIX + ".lanes.queue-size");
+
+    /**
+     * represents a {@link Gauge}, which holds the number of tasks of the {@link PluginExecutorService} which run
+     * on virtual threads at the moment, this is always 0 if the {@link com.hivemq.spi.services.PluginExecutorMode}
+     * is {@link com.hivemq.spi.services.PluginExecutorMode#PLATFORM_THREADS}
+     *
+     * @since 3.4.5
+     */
+    public static final HiveMQMetric<Gauge<Number>> PLUGIN_EXECUTOR_SERVICE_VIRTUAL_THREADS =
+            HiveMQMetric.gaugeValue(PLUGIN_EXECUTOR_PREFIX + ".virtual-threads");
+
+    /**
+     * represents a {@link Counter}, which counts the tasks of the {@link PluginExecutorService} which were rejected
+     * because the queue of their priority was full, see {@link com.hivemq.spi.services.PluginExecutorConfiguration.RejectionPolicy#FAIL_FAST}
+     *
+     * @since 3.4.5
+     */
+    public static final HiveMQMetric<Counter> PLUGIN_EXECUTOR_SERVICE_REJECTED =
+            HiveMQMetric.valueOf(PLUGIN_EXECUTOR_PREFIX + ".rejected", Counter.class);
+
+    /**
+     * represents a {@link Counter}, which counts the queued tasks of the {@link PluginExecutorService} which were
+     * dropped for newer tasks, see {@link com.hivemq.spi.services.PluginExecutorConfiguration.RejectionPolicy#DROP_OLDEST}
+     *
+     * @since 3.4.5
+     */
+    public static final HiveMQMetric<Counter> PLUGIN_EXECUTOR_SERVICE_DROPPED =
+            HiveMQMetric.valueOf(PLUGIN_EXECUTOR_PREFIX + ".dropped", Counter.class);
+
+    /**
+     * represents a {@link Counter}, which counts the tasks of the {@link PluginExecutorService} which ran on the
+     * submitting thread, see {@link com.hivemq.spi.services.PluginExecutorConfiguration.RejectionPolicy#CALLER_RUNS}
+     *
+     * @since 3.4.5
+     */
+    public static final HiveMQMetric<Counter> PLUGIN_EXECUTOR_SERVICE_CALLER_RUNS =
+            HiveMQMetric.valueOf(PLUGIN_EXECUTOR_PREFIX + ".caller-runs", Counter.class);
+
+    /**
+     * represents a {@link Gauge}, which holds the number of pending timeouts of all
+     * {@link com.hivemq.spi.services.TimerService}s
+     *
+     * @since 3.4.5
+     */
+    public static final HiveMQMetric<Gauge<Number>> PLUGIN_TIMER_SERVICE_PENDING =
+            HiveMQMetric.gaugeValue("com.hivemq.plugin.timer-service.pending");
+
+    /**
+     * represents a {@link Meter}, which measures the rate of expired timeouts of all
+     * {@link com.hivemq.spi.services.TimerService}s
+     *
+     * @since 3.4.5
+     */
+    public static final HiveMQMetric<Meter> PLUGIN_TIMER_SERVICE_EXPIRED =
+            HiveMQMetric.valueOf("com.hivemq.plugin.timer-service.expired", Meter.class);
+
     /**
      * represents a {@link Meter}, which Measures how much percent of the scheduled period the
      * {@link PluginExecutorService} jobs lasted
@@ -735,6 +833,24 @@ public class HiveMQMetrics {
     public static final HiveMQMetric<Timer> PLUGIN_TIMER_AUTHENTICATION =
             HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.authentication.time", Timer.class);
 
+    /**
+     * represents a {@link Timer}, which measures the mean time (in nanoseconds) until the future
+     * of the {@link com.hivemq.spi.callback.security.AsyncOnAuthenticationCallback} callback is done
+     *
+     * @since 3.4.5
+     */
+    public static final HiveMQMetric<Timer> PLUGIN_TIMER_ASYNC_AUTHENTICATION =
+            HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.async-authentication.time", Timer.class);
+
+    /**
+     * represents a {@link Counter}, which counts every future of the
+     * {@link com.hivemq.spi.callback.security.AsyncOnAuthenticationCallback} callback which timed out
+     *
+     * @since 3.4.5
+     */
+    public static final HiveMQMetric<Counter> PLUGIN_COUNTER_ASYNC_AUTHENTICATION_TIMEOUT =
+            HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.async-authentication.timeout", Counter.class);
+
     /**
      * represents a {@link Timer}, which measures the mean execution time (in nanoseconds)
      * of the {@link RestrictionsAfterLoginCallback}
@@ -799,6 +915,51 @@ public class HiveMQMetrics {
     public static final HiveMQMetric<Timer> PLUGIN_TIMER_PUBLISH_RECEIVED =
             HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.publish-received.time", Timer.class);
 
+    /**
+     * represents a {@link Timer}, which measures the mean time (in nanoseconds) until the future
+     * of the {@link com.hivemq.spi.callback.events.AsyncOnPublishReceivedCallback} callback is done
+     *
+     * @since 3.4.5
+     */
+    public static final HiveMQMetric<Timer> PLUGIN_TIMER_ASYNC_PUBLISH_RECEIVED =
+            HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.async-publish-received.time", Timer.class);
+
+    /**
+     * represents a {@link Counter}, which counts every future of the
+     * {@link com.hivemq.spi.callback.events.AsyncOnPublishReceivedCallback} callback which timed out
+     *
+     * @since 3.4.5
+     */
+    public static final HiveMQMetric<Counter> PLUGIN_COUNTER_ASYNC_PUBLISH_RECEIVED_TIMEOUT =
+            HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.async-publish-received.timeout", Counter.class);
+
+    /**
+     * represents a {@link Histogram}, which measures the distribution of the number of events in the batches
+     * of all {@link com.hivemq.spi.callback.events.PublishBatchCallback}s
+     *
+     * @since 3.4.5
+     */
+    public static final HiveMQMetric<Histogram> PLUGIN_HISTOGRAM_PUBLISH_BATCH_SIZE =
+            HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.publish-batch.size", Histogram.class);
+
+    /**
+     * represents a {@link Counter}, which counts every batch which was delivered because it reached the maximum
+     * batch size of a {@link com.hivemq.spi.callback.events.PublishBatchCallback} before the maximum delay
+     *
+     * @since 3.4.5
+     */
+    public static final HiveMQMetric<Counter> PLUGIN_COUNTER_PUBLISH_BATCH_OVERFLOW =
+            HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.publish-batch.overflow", Counter.class);
+
+    /**
+     * represents a {@link Counter}, which counts every batch which was dropped because the maximum number
+     * of pending batches of a {@link com.hivemq.spi.callback.events.PublishBatchCallback} was exceeded
+     *
+     * @since 3.4.5
+     */
+    public static final HiveMQMetric<Counter> PLUGIN_COUNTER_PUBLISH_BATCH_DROPPED =
+            HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.publish-batch.dropped", Counter.class);
+
     /**
      * represents a {@link Timer}, which measures the mean execution time (in nanoseconds)
      * of the {@link OnPublishSend}
@@ -919,6 +1080,15 @@ public class HiveMQMetrics {
     public static final HiveMQMetric<Timer> PLUGIN_TIMER_TOPIC_SUBSCRIPTION =
             HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.topic-subscription.time", Timer.class);
 
+    /**
+     * represents a {@link Timer}, which measures the mean execution time (in nanoseconds)
+     * of the {@link OnSubscriptionAuthorizationCallback} callback
+     *
+     * @since 3.4.5
+     */
+    public static final HiveMQMetric<Timer> PLUGIN_TIMER_SUBSCRIPTION_AUTHORIZATION =
+            HiveMQMetric.valueOf("com.hivemq.plugin.callbacks.subscription-authorization.time", Timer.class);
+
     /**
      * represents a {@link Timer}, which measures the mean execution time (in nanoseconds)
      * of the {@link OnConnackSend} callback
@@ -1313,6 +1483,24 @@ public class HiveMQMetrics {
     public static final HiveMQMetric<Counter> POSSIBLY_STALE_SUBSCRIPTIONS =
             HiveMQMetric.valueOf("com.hivemq.internal.topic-tree.possibly-stale-subscriptions", Counter.class);
 
+    /**
+     * represents a {@link Gauge}, which holds the current amount of available publish permits of the
+     * {@link com.hivemq.spi.services.PublishService}
+     *
+     * @since 3.4.5
+     */
+    public static final HiveMQMetric<Gauge<Number>> PLUGIN_PUBLISH_SERVICE_PERMITS_AVAILABLE =
+            HiveMQMetric.gaugeValue("com.hivemq.plugin.publish-service.permits.available");
+
+    /**
+     * represents a {@link Counter}, which counts every PUBLISH of the {@link com.hivemq.spi.services.PublishService}
+     * which was rejected because no publish permit was available
+     *
+     * @since 3.4.5
+     */
+    public static final HiveMQMetric<Counter> PLUGIN_PUBLISH_SERVICE_REJECTED =
+            HiveMQMetric.valueOf("com.hivemq.plugin.publish-service.rejected", Counter.class);
+
 
 }
 
@@ -3,7 +3,9 @@ package com.hivemq.spi.security;
 import com.hivemq.spi.callback.security.authorization.AuthorizationBehaviour;
 import com.hivemq.spi.callback.security.authorization.AuthorizationResult;
 import com.hivemq.spi.message.QoS;
+import com.hivemq.spi.message.Topic;
 import com.hivemq.spi.topic.MqttTopicPermission;
+import com.hivemq.spi.topic.ParsedTopic;
 import org.apache.commons.lang3.StringUtils;
 
 import java.util.List;
@@ -16,6 +18,10 @@ import static com.hivemq.spi.topic.MqttTopicPermission.TYPE;
 /**
  * Evaluator for the results of a OnAuthorizationCallback against a PUBLISH or a subscription.
  * It is used by HiveMQ to check, whether a publish or subscribe are permitted.
+ * <p/>
+ * If the same permissions are evaluated many times, compile them once to a {@link PermissionIndex}
+ * and use the overloads which take the index. Decisions for a single client can be cached with
+ * a {@link CachedAuthorizationResult}.
  *
  * @author Christoph Schäbel
  */
@@ -23,6 +29,13 @@ public class AuthorizationEvaluator {
 
     public static AuthorizationBehaviour checkPublish(final String topic, final QoS qos, final boolean retained, final AuthorizationResult authorizationResult) {
 
+        if (authorizationResult instanceof PermissionIndex) {
+            return checkPublish(topic, qos, retained, (PermissionIndex) authorizationResult);
+        }
+        if (authorizationResult instanceof CachedAuthorizationResult) {
+            return ((CachedAuthorizationResult) authorizationResult).checkPublish(topic, qos, retained);
+        }
+
         final String[] splitTopic = StringUtils.splitPreserveAllTokens(topic, "/");
 
         final List<MqttTopicPermission> mqttTopicPermissions = authorizationResult.getMqttTopicPermissions();
@@ -37,8 +50,9 @@ public class AuthorizationEvaluator {
         } else {
             stripedTopic = topic;
         }
+        final int accessMask = MqttTopicPermission.accessMask(qos, ACTIVITY.PUBLISH, retained);
         for (MqttTopicPermission mqttTopicPermission : mqttTopicPermissions) {
-            if (mqttTopicPermission.implies(stripedTopic, splitTopic, qos, ACTIVITY.PUBLISH, retained)) {
+            if (mqttTopicPermission.implies(stripedTopic, splitTopic, accessMask)) {
                 return mqttTopicPermission.getType() == TYPE.ALLOW ? ACCEPT : DENY;
             }
         }
@@ -48,6 +62,13 @@ public class AuthorizationEvaluator {
 
     public static AuthorizationBehaviour checkSubscription(final String topic, final QoS qoS, final AuthorizationResult authorizationResult) {
 
+        if (authorizationResult instanceof PermissionIndex) {
+            return checkSubscription(topic, qoS, (PermissionIndex) authorizationResult);
+        }
+        if (authorizationResult instanceof CachedAuthorizationResult) {
+            return ((CachedAuthorizationResult) authorizationResult).checkSubscription(topic, qoS);
+        }
+
         final String[] splitTopic = StringUtils.splitPreserveAllTokens(topic, "/");
 
         final List<MqttTopicPermission> mqttTopicPermissions = authorizationResult.getMqttTopicPermissions();
@@ -62,12 +83,216 @@ public class AuthorizationEvaluator {
         } else {
             stripedTopic = topic;
         }
+        final int accessMask = MqttTopicPermission.accessMask(qoS, ACTIVITY.SUBSCRIBE);
+        for (MqttTopicPermission mqttTopicPermission : mqttTopicPermissions) {
+            if (mqttTopicPermission.implies(stripedTopic, splitTopic, accessMask)) {
+                return mqttTopicPermission.getType() == TYPE.ALLOW ? ACCEPT : DENY;
+            }
+        }
+
+        return authorizationResult.getDefaultBehaviour();
+    }
+
+    /**
+     * Checks a PUBLISH with an already parsed topic against the result of a OnAuthorizationCallback.
+     * <p/>
+     * The result is the same as for {@link #checkPublish(String, QoS, boolean, AuthorizationResult)}.
+     *
+     * @param topic               the parsed topic of the PUBLISH
+     * @param qos                 the QoS of the PUBLISH
+     * @param retained            if the PUBLISH is retained
+     * @param authorizationResult the result of the OnAuthorizationCallback
+     * @return the {@link AuthorizationBehaviour} of the first matching permission or the default behaviour
+     */
+    public static AuthorizationBehaviour checkPublish(final ParsedTopic topic, final QoS qos, final boolean retained, final AuthorizationResult authorizationResult) {
+
+        if (authorizationResult instanceof PermissionIndex) {
+            return checkPublish(topic, qos, retained, (PermissionIndex) authorizationResult);
+        }
+        if (authorizationResult instanceof CachedAuthorizationResult) {
+            return ((CachedAuthorizationResult) authorizationResult).checkPublish(topic.getTopic(), qos, retained);
+        }
+
+        final List<MqttTopicPermission> mqttTopicPermissions = authorizationResult.getMqttTopicPermissions();
+
+        if (mqttTopicPermissions == null || mqttTopicPermissions.size() < 1) {
+            return authorizationResult.getDefaultBehaviour();
+        }
+
+        final int accessMask = MqttTopicPermission.accessMask(qos, ACTIVITY.PUBLISH, retained);
+        for (MqttTopicPermission mqttTopicPermission : mqttTopicPermissions) {
+            if (mqttTopicPermission.implies(topic, accessMask)) {
+                return mqttTopicPermission.getType() == TYPE.ALLOW ? ACCEPT : DENY;
+            }
+        }
+
+        return authorizationResult.getDefaultBehaviour();
+    }
+
+    /**
+     * Checks a subscription with an already parsed topic against the result of a OnAuthorizationCallback.
+     * <p/>
+     * The result is the same as for {@link #checkSubscription(String, QoS, AuthorizationResult)}.
+     *
+     * @param topic               the parsed topic of the subscription
+     * @param qoS                 the QoS of the subscription
+     * @param authorizationResult the result of the OnAuthorizationCallback
+     * @return the {@link AuthorizationBehaviour} of the first matching permission or the default behaviour
+     */
+    public static AuthorizationBehaviour checkSubscription(final ParsedTopic topic, final QoS qoS, final AuthorizationResult authorizationResult) {
+
+        if (authorizationResult instanceof PermissionIndex) {
+            return checkSubscription(topic, qoS, (PermissionIndex) authorizationResult);
+        }
+        if (authorizationResult instanceof CachedAuthorizationResult) {
+            return ((CachedAuthorizationResult) authorizationResult).checkSubscription(topic.getTopic(), qoS);
+        }
+
+        final List<MqttTopicPermission> mqttTopicPermissions = authorizationResult.getMqttTopicPermissions();
+
+        if (mqttTopicPermissions == null || mqttTopicPermissions.size() < 1) {
+            return authorizationResult.getDefaultBehaviour();
+        }
+
+        final int accessMask = MqttTopicPermission.accessMask(qoS, ACTIVITY.SUBSCRIBE);
         for (MqttTopicPermission mqttTopicPermission : mqttTopicPermissions) {
-            if (mqttTopicPermission.implies(stripedTopic, splitTopic, qoS, ACTIVITY.SUBSCRIBE)) {
+            if (mqttTopicPermission.implies(topic, accessMask)) {
                 return mqttTopicPermission.getType() == TYPE.ALLOW ? ACCEPT : DENY;
             }
         }
 
         return authorizationResult.getDefaultBehaviour();
     }
+
+    /**
+     * Checks a PUBLISH against a compiled {@link PermissionIndex}.
+     * <p/>
+     * The result is the same as for {@link #checkPublish(String, QoS, boolean, AuthorizationResult)} with the
+     * permissions the index was built from.
+     *
+     * @param topic           the topic of the PUBLISH
+     * @param qos             the QoS of the PUBLISH
+     * @param retained        if the PUBLISH is retained
+     * @param permissionIndex the compiled permissions
+     * @return the {@link AuthorizationBehaviour} of the first matching permission or the default behaviour
+     */
+    public static AuthorizationBehaviour checkPublish(final String topic, final QoS qos, final boolean retained, final PermissionIndex permissionIndex) {
+
+        if (permissionIndex.isEmpty()) {
+            return permissionIndex.getDefaultBehaviour();
+        }
+
+        return checkPublish(ParsedTopic.of(topic), qos, retained, permissionIndex);
+    }
+
+    /**
+     * Checks a PUBLISH with an already parsed topic against a compiled {@link PermissionIndex}.
+     *
+     * @param topic           the parsed topic of the PUBLISH
+     * @param qos             the QoS of the PUBLISH
+     * @param retained        if the PUBLISH is retained
+     * @param permissionIndex the compiled permissions
+     * @return the {@link AuthorizationBehaviour} of the first matching permission or the default behaviour
+     */
+    public static AuthorizationBehaviour checkPublish(final ParsedTopic topic, final QoS qos, final boolean retained, final PermissionIndex permissionIndex) {
+
+        if (permissionIndex.isEmpty()) {
+            return permissionIndex.getDefaultBehaviour();
+        }
+
+        final MqttTopicPermission permission = permissionIndex.findFirst(topic, stripTopic(topic.getTopic()),
+                MqttTopicPermission.accessMask(qos, ACTIVITY.PUBLISH, retained));
+
+        return toBehaviour(permission, permissionIndex);
+    }
+
+    /**
+     * Checks a subscription against a compiled {@link PermissionIndex}.
+     * <p/>
+     * The result is the same as for {@link #checkSubscription(String, QoS, AuthorizationResult)} with the
+     * permissions the index was built from.
+     *
+     * @param topic           the topic of the subscription
+     * @param qoS             the QoS of the subscription
+     * @param permissionIndex the compiled permissions
+     * @return the {@link AuthorizationBehaviour} of the first matching permission or the default behaviour
+     */
+    public static AuthorizationBehaviour checkSubscription(final String topic, final QoS qoS, final PermissionIndex permissionIndex) {
+
+        if (permissionIndex.isEmpty()) {
+            return permissionIndex.getDefaultBehaviour();
+        }
+
+        return checkSubscription(ParsedTopic.of(topic), qoS, permissionIndex);
+    }
+
+    /**
+     * Checks a subscription with an already parsed topic against a compiled {@link PermissionIndex}.
+     *
+     * @param topic           the parsed topic of the subscription
+     * @param qoS             the QoS of the subscription
+     * @param permissionIndex the compiled permissions
+     * @return the {@link AuthorizationBehaviour} of the first matching permission or the default behaviour
+     */
+    public static AuthorizationBehaviour checkSubscription(final ParsedTopic topic, final QoS qoS, final PermissionIndex permissionIndex) {
+
+        if (permissionIndex.isEmpty()) {
+            return permissionIndex.getDefaultBehaviour();
+        }
+
+        final MqttTopicPermission permission = permissionIndex.findFirst(topic, stripTopic(topic.getTopic()),
+                MqttTopicPermission.accessMask(qoS, ACTIVITY.SUBSCRIBE));
+
+        return toBehaviour(permission, permissionIndex);
+    }
+
+    /**
+     * Checks all topics of a SUBSCRIBE against the result of a OnAuthorizationCallback.
+     * <p/>
+     * The permissions are compiled to a {@link PermissionIndex} once for all topics, so this is
+     * cheaper than calling {@link #checkSubscription(String, QoS, AuthorizationResult)} for every topic.
+     *
+     * @param topics              the topics of the SUBSCRIBE
+     * @param authorizationResult the result of the OnAuthorizationCallback
+     * @return the {@link AuthorizationBehaviour} for every topic, in the order of the topics
+     * @since 3.4.5
+     */
+    public static AuthorizationBehaviour[] checkSubscriptions(final List<Topic> topics, final AuthorizationResult authorizationResult) {
+
+        final AuthorizationBehaviour[] behaviours = new AuthorizationBehaviour[topics.size()];
+        if (topics.isEmpty()) {
+            return behaviours;
+        }
+
+        if (authorizationResult instanceof CachedAuthorizationResult) {
+            final CachedAuthorizationResult cachedAuthorizationResult = (CachedAuthorizationResult) authorizationResult;
+            for (int i = 0; i < behaviours.length; i++) {
+                final Topic topic = topics.get(i);
+                behaviours[i] = topic.getQoS() == null ? cachedAuthorizationResult.getDefaultBehaviour() :
+                        cachedAuthorizationResult.checkSubscription(topic.getTopic(), topic.getQoS());
+            }
+            return behaviours;
+        }
+
+        final PermissionIndex permissionIndex = PermissionIndex.of(authorizationResult);
+        for (int i = 0; i < behaviours.length; i++) {
+            final Topic topic = topics.get(i);
+            behaviours[i] = checkSubscription(topic.getParsedTopic(), topic.getQoS(), permissionIndex);
+        }
+        return behaviours;
+    }
+
+    private static AuthorizationBehaviour toBehaviour(final MqttTopicPermission permission, final PermissionIndex permissionIndex) {
+        if (permission == null) {
+            return permissionIndex.getDefaultBehaviour();
+        }
+        return permission.getType() == TYPE.ALLOW ? ACCEPT : DENY;
+    }
+
+    private static String stripTopic(final String topic) {
+        if (topic.length() > 1) {
+            return StringUtils.stripEnd(topic, "/");
+        }
+        return topic;
+    }
 }
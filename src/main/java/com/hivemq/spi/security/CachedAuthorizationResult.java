@@ -0,0 +1,325 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.security;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.Nullable;
+import com.hivemq.spi.annotations.ThreadSafe;
+import com.hivemq.spi.callback.security.authorization.AuthorizationBehaviour;
+import com.hivemq.spi.callback.security.authorization.AuthorizationResult;
+import com.hivemq.spi.message.QoS;
+import com.hivemq.spi.topic.MqttTopicPermission;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.hivemq.spi.topic.MqttTopicPermission.ACTIVITY;
+
+/**
+ * An {@link AuthorizationResult} which remembers the decisions for the topic, QoS, activity and retain
+ * combinations of a single client.
+ * <p/>
+ * Most clients publish and subscribe to the same few topics over and over again, so the permissions
+ * only have to be evaluated once per combination. The permissions are compiled to a {@link PermissionIndex}
+ * and the decisions are cached with a maximum size and a time to live.
+ * <p/>
+ * The {@link AuthorizationEvaluator} uses the cache automatically if it is called with a CachedAuthorizationResult.
+ * <p/>
+ * If the permissions of the client change, call {@link #updatePermissions(AuthorizationResult)}. All cached
+ * decisions are discarded and decisions which were made with the old permissions in the meantime are never returned.
+ * {@link #invalidate()} and {@link #invalidate(String)} discard cached decisions without changing the permissions.
+ *
+ * @since 3.4.5
+ */
+@ThreadSafe
+public class CachedAuthorizationResult implements AuthorizationResult {
+
+    private final long maximumSize;
+    private final long expireAfterWrite;
+    private final TimeUnit expireAfterWriteUnit;
+    private final Ticker ticker;
+
+    /**
+     * the permissions and the decisions made with them are always replaced together
+     */
+    private volatile Decisions decisions;
+
+    private CachedAuthorizationResult(final AuthorizationResult authorizationResult, final long maximumSize,
+                                      final long expireAfterWrite, final TimeUnit expireAfterWriteUnit,
+                                      final Ticker ticker) {
+        this.maximumSize = maximumSize;
+        this.expireAfterWrite = expireAfterWrite;
+        this.expireAfterWriteUnit = expireAfterWriteUnit;
+        this.ticker = ticker;
+        this.decisions = createDecisions(authorizationResult);
+    }
+
+    /**
+     * Checks a PUBLISH of the client. The decision is cached.
+     * <p/>
+     * Like for any other {@link AuthorizationResult}, a PUBLISH without QoS matches no permission. The default
+     * behaviour is returned and not cached.
+     *
+     * @param topic    the topic of the PUBLISH
+     * @param qos      the QoS of the PUBLISH
+     * @param retained if the PUBLISH is retained
+     * @return the {@link AuthorizationBehaviour} of the first matching permission or the default behaviour
+     */
+    @NotNull
+    public AuthorizationBehaviour checkPublish(@NotNull final String topic, @Nullable final QoS qos, final boolean retained) {
+        checkNotNull(topic, "Topic must not be null");
+
+        final Decisions decisions = this.decisions;
+        if (qos == null) {
+            return AuthorizationEvaluator.checkPublish(topic, null, retained, decisions.permissionIndex);
+        }
+        final DecisionKey key = new DecisionKey(topic, qos, ACTIVITY.PUBLISH, retained);
+
+        AuthorizationBehaviour behaviour = decisions.cache.getIfPresent(key);
+        if (behaviour == null) {
+            behaviour = AuthorizationEvaluator.checkPublish(topic, qos, retained, decisions.permissionIndex);
+            decisions.cache.put(key, behaviour);
+        }
+        return behaviour;
+    }
+
+    /**
+     * Checks a subscription of the client. The decision is cached.
+     * <p/>
+     * Like for any other {@link AuthorizationResult}, a subscription without QoS matches no permission. The default
+     * behaviour is returned and not cached.
+     *
+     * @param topic the topic of the subscription
+     * @param qos   the QoS of the subscription
+     * @return the {@link AuthorizationBehaviour} of the first matching permission or the default behaviour
+     */
+    @NotNull
+    public AuthorizationBehaviour checkSubscription(@NotNull final String topic, @Nullable final QoS qos) {
+        checkNotNull(topic, "Topic must not be null");
+
+        final Decisions decisions = this.decisions;
+        if (qos == null) {
+            return AuthorizationEvaluator.checkSubscription(topic, null, decisions.permissionIndex);
+        }
+        final DecisionKey key = new DecisionKey(topic, qos, ACTIVITY.SUBSCRIBE, false);
+
+        AuthorizationBehaviour behaviour = decisions.cache.getIfPresent(key);
+        if (behaviour == null) {
+            behaviour = AuthorizationEvaluator.checkSubscription(topic, qos, decisions.permissionIndex);
+            decisions.cache.put(key, behaviour);
+        }
+        return behaviour;
+    }
+
+    /**
+     * Replaces the permissions of the client and discards all cached decisions.
+     *
+     * @param authorizationResult the new permissions and default behaviour
+     * @throws NullPointerException if the authorizationResult or its default behaviour is <code>null</code>
+     */
+    public void updatePermissions(@NotNull final AuthorizationResult authorizationResult) {
+        checkNotNull(authorizationResult, "AuthorizationResult must not be null");
+        decisions = createDecisions(authorizationResult);
+    }
+
+    /**
+     * Discards all cached decisions. The permissions stay the same.
+     */
+    public void invalidate() {
+        decisions.cache.invalidateAll();
+    }
+
+    /**
+     * Discards all cached decisions for a topic. The permissions stay the same.
+     *
+     * @param topic the topic
+     */
+    public void invalidate(@NotNull final String topic) {
+        checkNotNull(topic, "Topic must not be null");
+
+        final Cache<DecisionKey, AuthorizationBehaviour> cache = decisions.cache;
+        for (final DecisionKey key : cache.asMap().keySet()) {
+            if (key.topic.equals(topic)) {
+                cache.invalidate(key);
+            }
+        }
+    }
+
+    /**
+     * @return the approximate number of cached decisions, expired decisions are not counted
+     */
+    public long size() {
+        final Cache<DecisionKey, AuthorizationBehaviour> cache = decisions.cache;
+        cache.cleanUp();
+        return cache.size();
+    }
+
+    /**
+     * @return an immutable list of the current permissions
+     */
+    @Override
+    public List<MqttTopicPermission> getMqttTopicPermissions() {
+        return decisions.permissionIndex.getMqttTopicPermissions();
+    }
+
+    @NotNull
+    @Override
+    public AuthorizationBehaviour getDefaultBehaviour() {
+        return decisions.permissionIndex.getDefaultBehaviour();
+    }
+
+    /**
+     * @return the compiled current permissions
+     */
+    @NotNull
+    PermissionIndex getPermissionIndex() {
+        return decisions.permissionIndex;
+    }
+
+    private Decisions createDecisions(final AuthorizationResult authorizationResult) {
+        final CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .ticker(ticker);
+        if (expireAfterWrite > 0) {
+            cacheBuilder.expireAfterWrite(expireAfterWrite, expireAfterWriteUnit);
+        }
+        return new Decisions(PermissionIndex.of(authorizationResult), cacheBuilder.<DecisionKey, AuthorizationBehaviour>build());
+    }
+
+    @Override
+    public String toString() {
+        return "CachedAuthorizationResult{" +
+                "permissionIndex=" + decisions.permissionIndex +
+                ", cachedDecisions=" + size() +
+                '}';
+    }
+
+    private static class Decisions {
+
+        private final PermissionIndex permissionIndex;
+        private final Cache<DecisionKey, AuthorizationBehaviour> cache;
+
+        private Decisions(final PermissionIndex permissionIndex, final Cache<DecisionKey, AuthorizationBehaviour> cache) {
+            this.permissionIndex = permissionIndex;
+            this.cache = cache;
+        }
+    }
+
+    private static class DecisionKey {
+
+        private final String topic;
+        private final QoS qos;
+        private final ACTIVITY activity;
+        private final boolean retained;
+
+        private DecisionKey(final String topic, final QoS qos, final ACTIVITY activity, final boolean retained) {
+            this.topic = topic;
+            this.qos = qos;
+            this.activity = activity;
+            this.retained = retained;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            final DecisionKey that = (DecisionKey) o;
+
+            return retained == that.retained &&
+                    qos == that.qos &&
+                    activity == that.activity &&
+                    topic.equals(that.topic);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = topic.hashCode();
+            result = 31 * result + qos.hashCode();
+            result = 31 * result + activity.hashCode();
+            result = 31 * result + (retained ? 1 : 0);
+            return result;
+        }
+    }
+
+    /**
+     * A builder which allows to conveniently build a CachedAuthorizationResult with a fluent API
+     */
+    public static class Builder {
+
+        private final AuthorizationResult authorizationResult;
+        private long maximumSize = 100;
+        private long expireAfterWrite = 1;
+        private TimeUnit expireAfterWriteUnit = TimeUnit.MINUTES;
+        private Ticker ticker = Ticker.systemTicker();
+
+        /**
+         * @param authorizationResult the permissions and the default behaviour of the client
+         */
+        public Builder(@NotNull final AuthorizationResult authorizationResult) {
+            checkNotNull(authorizationResult, "AuthorizationResult must not be null");
+            this.authorizationResult = authorizationResult;
+        }
+
+        /**
+         * Sets the maximum number of cached decisions. Defaults to 100.
+         *
+         * @param maximumSize the maximum number of cached decisions
+         * @return the Builder
+         */
+        public Builder maximumSize(final long maximumSize) {
+            checkArgument(maximumSize >= 0, "Maximum size must not be negative");
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Sets how long a decision is cached. Defaults to 1 minute, 0 caches decisions until
+         * they are evicted because of the maximum size or invalidated.
+         *
+         * @param duration the time to live of a decision
+         * @param unit     the unit of the duration
+         * @return the Builder
+         */
+        public Builder expireAfterWrite(final long duration, @NotNull final TimeUnit unit) {
+            checkArgument(duration >= 0, "Duration must not be negative");
+            checkNotNull(unit, "TimeUnit must not be null");
+            this.expireAfterWrite = duration;
+            this.expireAfterWriteUnit = unit;
+            return this;
+        }
+
+        Builder ticker(final Ticker ticker) {
+            this.ticker = ticker;
+            return this;
+        }
+
+        /**
+         * @return the CachedAuthorizationResult
+         * @throws NullPointerException if the default behaviour of the authorization result is <code>null</code>
+         */
+        public CachedAuthorizationResult build() {
+            return new CachedAuthorizationResult(authorizationResult, maximumSize, expireAfterWrite,
+                    expireAfterWriteUnit, ticker);
+        }
+    }
+}
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.security;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.Ints;
+import com.hivemq.spi.annotations.Immutable;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.Nullable;
+import com.hivemq.spi.annotations.ThreadSafe;
+import com.hivemq.spi.callback.security.authorization.AuthorizationBehaviour;
+import com.hivemq.spi.callback.security.authorization.AuthorizationResult;
+import com.hivemq.spi.message.QoS;
+import com.hivemq.spi.topic.MqttTopicPermission;
+import com.hivemq.spi.topic.ParsedTopic;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.hivemq.spi.topic.MqttTopicPermission.ACTIVITY;
+
+/**
+ * A compiled, immutable representation of an {@link AuthorizationResult}.
+ * <p/>
+ * The {@link MqttTopicPermission}s are arranged in a topic level tree with separate branches for
+ * the <code>+</code> and <code>#</code> wildcards, so the {@link AuthorizationEvaluator} only walks
+ * the levels of the topic to check instead of calling
+ * {@link MqttTopicPermission#implies(ParsedTopic, int)} for every permission.
+ * <p/>
+ * The evaluation result is exactly the same as for the plain list of permissions: the first
+ * permission in list order which implies the topic, QoS and activity wins.
+ * <p/>
+ * An index should be built once per client (e.g. after the {@link com.hivemq.spi.callback.security.OnAuthorizationCallback}
+ * returned the permissions) and can be shared between threads afterwards.
+ *
+ * @since 3.4.5
+ */
+@Immutable
+@ThreadSafe
+public class PermissionIndex implements AuthorizationResult {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final List<MqttTopicPermission> permissions;
+    private final AuthorizationBehaviour defaultBehaviour;
+
+    /**
+     * permissions without wildcards, by their topic without trailing slashes
+     */
+    private final Map<String, int[]> exactPermissions;
+
+    /**
+     * permissions with wildcards which can not be represented by the tree, they are checked for every topic
+     */
+    private final int[] unindexedPermissions;
+
+    private final Node root;
+
+    private PermissionIndex(final List<MqttTopicPermission> permissions, final AuthorizationBehaviour defaultBehaviour) {
+        this.permissions = permissions;
+        this.defaultBehaviour = defaultBehaviour;
+
+        final Map<String, List<Integer>> exact = new HashMap<>();
+        final List<Integer> unindexed = new ArrayList<>();
+        final Node.Builder rootBuilder = new Node.Builder();
+
+        for (int i = 0; i < permissions.size(); i++) {
+            final String topic = permissions.get(i).getTopic();
+            final String stripedTopic = StringUtils.stripEnd(topic, "/");
+
+            if (StringUtils.containsNone(stripedTopic, "#+")) {
+                List<Integer> indices = exact.get(stripedTopic);
+                if (indices == null) {
+                    indices = new ArrayList<>();
+                    exact.put(stripedTopic, indices);
+                }
+                indices.add(i);
+            } else if (topic.equals(stripedTopic) && isWellFormed(topic)) {
+                rootBuilder.add(StringUtils.splitPreserveAllTokens(topic, "/"), 0, i);
+            } else {
+                unindexed.add(i);
+            }
+        }
+
+        final Map<String, int[]> exactPermissions = new HashMap<>(exact.size());
+        for (final Map.Entry<String, List<Integer>> entry : exact.entrySet()) {
+            exactPermissions.put(entry.getKey(), Ints.toArray(entry.getValue()));
+        }
+        this.exactPermissions = exactPermissions;
+        this.unindexedPermissions = unindexed.isEmpty() ? EMPTY : Ints.toArray(unindexed);
+        this.root = rootBuilder.build();
+    }
+
+    /**
+     * Compiles the permissions and the default behaviour of an {@link AuthorizationResult}.
+     * <p/>
+     * The permissions are copied, so later changes to the list of the AuthorizationResult are not reflected by the index.
+     *
+     * @param authorizationResult the AuthorizationResult to compile
+     * @return the compiled PermissionIndex
+     * @throws NullPointerException if the authorizationResult or its default behaviour is <code>null</code>
+     */
+    @NotNull
+    public static PermissionIndex of(@NotNull final AuthorizationResult authorizationResult) {
+        checkNotNull(authorizationResult, "AuthorizationResult must not be null");
+
+        if (authorizationResult instanceof PermissionIndex) {
+            return (PermissionIndex) authorizationResult;
+        }
+        if (authorizationResult instanceof CachedAuthorizationResult) {
+            return ((CachedAuthorizationResult) authorizationResult).getPermissionIndex();
+        }
+        return of(authorizationResult.getMqttTopicPermissions(), authorizationResult.getDefaultBehaviour());
+    }
+
+    /**
+     * Compiles a list of permissions and a default behaviour.
+     * <p/>
+     * The permissions are copied, so later changes to the list are not reflected by the index.
+     *
+     * @param permissions      the permissions in the order they should be evaluated, may be <code>null</code>
+     * @param defaultBehaviour the behaviour if no permission matches
+     * @return the compiled PermissionIndex
+     * @throws NullPointerException if the default behaviour or one of the permissions is <code>null</code>
+     */
+    @NotNull
+    public static PermissionIndex of(@Nullable final List<MqttTopicPermission> permissions,
+                                     @NotNull final AuthorizationBehaviour defaultBehaviour) {
+        checkNotNull(defaultBehaviour, "Default behaviour must not be null");
+
+        final List<MqttTopicPermission> copy = permissions == null ?
+                ImmutableList.<MqttTopicPermission>of() : ImmutableList.copyOf(permissions);
+
+        return new PermissionIndex(copy, defaultBehaviour);
+    }
+
+    /**
+     * @return an immutable list of all permissions of this index in evaluation order
+     */
+    @Override
+    public List<MqttTopicPermission> getMqttTopicPermissions() {
+        return permissions;
+    }
+
+    @NotNull
+    @Override
+    public AuthorizationBehaviour getDefaultBehaviour() {
+        return defaultBehaviour;
+    }
+
+    /**
+     * @return <code>true</code> if the index does not contain any permission
+     */
+    public boolean isEmpty() {
+        return permissions.isEmpty();
+    }
+
+    /**
+     * Finds the first permission which implies the given topic, QoS and activity.
+     *
+     * @param topic        the parsed topic
+     * @param stripedTopic the topic without trailing slashes
+     * @param accessMask   the access mask of the QoS, activity and retain flag,
+     *                     see {@link MqttTopicPermission#accessMask(QoS, ACTIVITY, boolean)}
+     * @return the first matching permission or <code>null</code> if no permission matches
+     */
+    @Nullable
+    MqttTopicPermission findFirst(final ParsedTopic topic, final String stripedTopic, final int accessMask) {
+
+        int best = Integer.MAX_VALUE;
+
+        final int[] exact = exactPermissions.get(stripedTopic);
+        if (exact != null) {
+            best = firstImplied(exact, best, topic, accessMask);
+        }
+        best = firstImplied(unindexedPermissions, best, topic, accessMask);
+        if (root.minIndex < best) {
+            best = walk(root, 0, best, topic.getLevels(), topic, accessMask);
+        }
+
+        return best == Integer.MAX_VALUE ? null : permissions.get(best);
+    }
+
+    private int walk(final Node node, final int level, int best, final List<String> levels,
+                     final ParsedTopic topic, final int accessMask) {
+
+        if (node.minIndex >= best) {
+            //Nothing in this subtree can beat the current match
+            return best;
+        }
+
+        //A '#' matches all remaining levels, including none
+        best = firstImplied(node.multiLevel, best, topic, accessMask);
+
+        if (level == levels.size()) {
+            return firstImplied(node.terminal, best, topic, accessMask);
+        }
+
+        final Node child = node.children.get(levels.get(level));
+        if (child != null) {
+            best = walk(child, level + 1, best, levels, topic, accessMask);
+        }
+        if (node.singleLevel != null) {
+            best = walk(node.singleLevel, level + 1, best, levels, topic, accessMask);
+        }
+        return best;
+    }
+
+    /**
+     * Checks the candidates in ascending order and returns the index of the first implied one if it is smaller
+     * than the current best match.
+     */
+    private int firstImplied(final int[] candidates, final int best, final ParsedTopic topic, final int accessMask) {
+
+        for (final int candidate : candidates) {
+            if (candidate >= best) {
+                return best;
+            }
+            if (permissions.get(candidate).implies(topic, accessMask)) {
+                return candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Checks if every level of a wildcard topic is either a plain level, a '+' or a trailing '#'.
+     * Only such topics are part of the tree.
+     */
+    private static boolean isWellFormed(final String topic) {
+        final String[] levels = StringUtils.splitPreserveAllTokens(topic, "/");
+        for (int i = 0; i < levels.length; i++) {
+            final String level = levels[i];
+            if ("+".equals(level)) {
+                continue;
+            }
+            if ("#".equals(level)) {
+                if (i != levels.length - 1) {
+                    return false;
+                }
+                continue;
+            }
+            if (StringUtils.containsAny(level, "#+")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "PermissionIndex{" +
+                "permissions=" + permissions.size() +
+                ", defaultBehaviour=" + defaultBehaviour +
+                '}';
+    }
+
+    /**
+     * A level of the permission tree
+     */
+    private static class Node {
+
+        private final Map<String, Node> children;
+        private final Node singleLevel;
+        private final int[] multiLevel;
+        private final int[] terminal;
+        private final int minIndex;
+
+        private Node(final Map<String, Node> children, final Node singleLevel, final int[] multiLevel,
+                     final int[] terminal, final int minIndex) {
+            this.children = children;
+            this.singleLevel = singleLevel;
+            this.multiLevel = multiLevel;
+            this.terminal = terminal;
+            this.minIndex = minIndex;
+        }
+
+        private static class Builder {
+
+            private final Map<String, Builder> children = new HashMap<>();
+            private Builder singleLevel;
+            private final List<Integer> multiLevel = new ArrayList<>();
+            private final List<Integer> terminal = new ArrayList<>();
+
+            private void add(final String[] levels, final int level, final int index) {
+                if (level == levels.length) {
+                    terminal.add(index);
+                    return;
+                }
+                final String current = levels[level];
+                if ("#".equals(current)) {
+                    multiLevel.add(index);
+                } else if ("+".equals(current)) {
+                    if (singleLevel == null) {
+                        singleLevel = new Builder();
+                    }
+                    singleLevel.add(levels, level + 1, index);
+                } else {
+                    Builder child = children.get(current);
+                    if (child == null) {
+                        child = new Builder();
+                        children.put(current, child);
+                    }
+                    child.add(levels, level + 1, index);
+                }
+            }
+
+            private Node build() {
+                int minIndex = Integer.MAX_VALUE;
+                if (!multiLevel.isEmpty()) {
+                    minIndex = Math.min(minIndex, multiLevel.get(0));
+                }
+                if (!terminal.isEmpty()) {
+                    minIndex = Math.min(minIndex, terminal.get(0));
+                }
+
+                final Map<String, Node> builtChildren = new HashMap<>(children.size());
+                for (final Map.Entry<String, Builder> entry : children.entrySet()) {
+                    final Node child = entry.getValue().build();
+                    builtChildren.put(entry.getKey(), child);
+                    minIndex = Math.min(minIndex, child.minIndex);
+                }
+
+                Node builtSingleLevel = null;
+                if (singleLevel != null) {
+                    builtSingleLevel = singleLevel.build();
+                    minIndex = Math.min(minIndex, builtSingleLevel.minIndex);
+                }
+
+                return new Node(builtChildren, builtSingleLevel,
+                        multiLevel.isEmpty() ? EMPTY : Ints.toArray(multiLevel),
+                        terminal.isEmpty() ? EMPTY : Ints.toArray(terminal),
+                        minIndex);
+            }
+        }
+    }
+}
@@ -17,7 +17,9 @@
 package com.hivemq.spi.services;
 
 import com.google.common.util.concurrent.ListenableFuture;
+import com.hivemq.spi.annotations.NotNull;
 import com.hivemq.spi.message.RetainedMessage;
+import com.hivemq.spi.message.RetainedMessageMetadata;
 
 import java.util.Set;
 
@@ -103,4 +105,111 @@ public interface AsyncRetainedMessageStore {
      */
     ListenableFuture<Long> size();
 
+    /**
+     * Returns all retained messages which match a topic filter, e.g. <code>plant/7/#</code>.
+     * <p/>
+     * Only the matching branches of the topic tree are visited, so this is much cheaper than filtering
+     * the result of {@link #getRetainedMessages()}.
+     *
+     * @param topicFilter the topic filter, MQTT wildcards are allowed
+     * @return a {@link com.google.common.util.concurrent.ListenableFuture} which contains all retained messages which match the topic filter
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * failing with a {@link com.hivemq.spi.topic.exception.InvalidTopicException} if the topic filter is not valid.
+     * @since 3.4.5
+     */
+    ListenableFuture<Set<RetainedMessage>> getRetainedMessages(@NotNull String topicFilter);
+
+    /**
+     * Returns the first page of the retained messages which match a topic filter. Use the topic filter <code>#</code> to
+     * iterate over all retained messages. Only a single page is kept in memory.
+     * The next page can be requested with {@link #iterateRetainedMessages(String, String, int)} and the cursor of the page.
+     *
+     * @param topicFilter the topic filter, MQTT wildcards are allowed
+     * @param pageSize    the maximum number of retained messages of the page
+     * @return a {@link com.google.common.util.concurrent.ListenableFuture} which contains the first page of retained messages
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * failing with a {@link com.hivemq.spi.topic.exception.InvalidTopicException} if the topic filter is not valid.
+     * @throws IllegalArgumentException if the pageSize is smaller than 1.
+     * @since 3.4.5
+     */
+    ListenableFuture<Page<RetainedMessage>> iterateRetainedMessages(@NotNull String topicFilter, int pageSize);
+
+    /**
+     * Returns the next page of the retained messages which match a topic filter.
+     * <p/>
+     * Retained messages which are added or removed during the iteration may or may not be part of the following pages.
+     *
+     * @param topicFilter the topic filter, MQTT wildcards are allowed
+     * @param cursor      the cursor of the previous page
+     * @param pageSize    the maximum number of retained messages of the page
+     * @return a {@link com.google.common.util.concurrent.ListenableFuture} which contains the next page of retained messages
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * failing with a {@link com.hivemq.spi.topic.exception.InvalidTopicException} if the topic filter is not valid.
+     * failing with a {@link com.hivemq.spi.services.exception.IterationFailedException} if the cursor is invalid or the iteration can not be continued.
+     * @throws NullPointerException     if the cursor is <code>null</code>.
+     * @throws IllegalArgumentException if the pageSize is smaller than 1.
+     * @since 3.4.5
+     */
+    ListenableFuture<Page<RetainedMessage>> iterateRetainedMessages(@NotNull String topicFilter, @NotNull String cursor, int pageSize);
+
+    /**
+     * Iterates over the retained messages which match a topic filter and pushes them to the given callback.
+     * The next page of retained messages is only fetched after the callback consumed the previous one.
+     *
+     * @param topicFilter the topic filter, MQTT wildcards are allowed
+     * @param callback    the callback which is called for every retained message
+     * @return a {@link com.google.common.util.concurrent.ListenableFuture} which succeeds as soon as the iteration is finished or aborted by the callback
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * failing with a {@link com.hivemq.spi.topic.exception.InvalidTopicException} if the topic filter is not valid.
+     * failing with a {@link com.hivemq.spi.services.exception.IterationFailedException} if the iteration can not be continued.
+     * @since 3.4.5
+     */
+    ListenableFuture<Void> iterateRetainedMessages(@NotNull String topicFilter, @NotNull IterationCallback<RetainedMessage> callback);
+
+    /**
+     * Returns the first page of the metadata (topic, QoS and payload size) of the retained messages which match a topic filter.
+     * The payloads are not loaded at all, which makes this suitable for inventories of big retained message stores.
+     * The next page can be requested with {@link #iterateRetainedMessageMetadata(String, String, int)} and the cursor of the page.
+     *
+     * @param topicFilter the topic filter, MQTT wildcards are allowed
+     * @param pageSize    the maximum number of entries of the page
+     * @return a {@link com.google.common.util.concurrent.ListenableFuture} which contains the first page of metadata
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * failing with a {@link com.hivemq.spi.topic.exception.InvalidTopicException} if the topic filter is not valid.
+     * @throws IllegalArgumentException if the pageSize is smaller than 1.
+     * @since 3.4.5
+     */
+    ListenableFuture<Page<RetainedMessageMetadata>> iterateRetainedMessageMetadata(@NotNull String topicFilter, int pageSize);
+
+    /**
+     * Returns the next page of the metadata (topic, QoS and payload size) of the retained messages which match a topic filter.
+     * <p/>
+     * Retained messages which are added or removed during the iteration may or may not be part of the following pages.
+     *
+     * @param topicFilter the topic filter, MQTT wildcards are allowed
+     * @param cursor      the cursor of the previous page
+     * @param pageSize    the maximum number of entries of the page
+     * @return a {@link com.google.common.util.concurrent.ListenableFuture} which contains the next page of metadata
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * failing with a {@link com.hivemq.spi.topic.exception.InvalidTopicException} if the topic filter is not valid.
+     * failing with a {@link com.hivemq.spi.services.exception.IterationFailedException} if the cursor is invalid or the iteration can not be continued.
+     * @throws NullPointerException     if the cursor is <code>null</code>.
+     * @throws IllegalArgumentException if the pageSize is smaller than 1.
+     * @since 3.4.5
+     */
+    ListenableFuture<Page<RetainedMessageMetadata>> iterateRetainedMessageMetadata(@NotNull String topicFilter, @NotNull String cursor, int pageSize);
+
+    /**
+     * Iterates over the metadata (topic, QoS and payload size) of the retained messages which match a topic filter
+     * and pushes them to the given callback. The payloads are not loaded at all.
+     *
+     * @param topicFilter the topic filter, MQTT wildcards are allowed
+     * @param callback    the callback which is called for the metadata of every retained message
+     * @return a {@link com.google.common.util.concurrent.ListenableFuture} which succeeds as soon as the iteration is finished or aborted by the callback
+     * failing with a {@link com.hivemq.spi.services.exception.RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * failing with a {@link com.hivemq.spi.topic.exception.InvalidTopicException} if the topic filter is not valid.
+     * failing with a {@link com.hivemq.spi.services.exception.IterationFailedException} if the iteration can not be continued.
+     * @since 3.4.5
+     */
+    ListenableFuture<Void> iterateRetainedMessageMetadata(@NotNull String topicFilter, @NotNull IterationCallback<RetainedMessageMetadata> callback);
 }
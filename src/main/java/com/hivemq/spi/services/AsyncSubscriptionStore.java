@@ -21,6 +21,7 @@ import com.google.common.util.concurrent.ListenableFuture;
 import com.hivemq.spi.annotations.NotNull;
 import com.hivemq.spi.annotations.ReadOnly;
 import com.hivemq.spi.message.Topic;
+import com.hivemq.spi.services.exception.IterationFailedException;
 import com.hivemq.spi.services.exception.NoSuchClientIdException;
 import com.hivemq.spi.services.exception.RateLimitExceededException;
 import com.hivemq.spi.topic.exception.InvalidTopicException;
@@ -189,4 +190,96 @@ public interface AsyncSubscriptionStore {
      */
     @ReadOnly
     ListenableFuture<Set<Topic>> getTopics(@NotNull String clientID);
+
+    /**
+     * Returns the first page of all subscriptions on this HiveMQ instance.
+     * <p/>
+     * In contrast to {@link #getLocalSubscriptions()} only a single page is kept in memory, so this method can be used to
+     * export or audit a huge amount of subscriptions. The next page can be requested with
+     * {@link #iterateLocalSubscriptions(String, int)} and the cursor of the page.
+     *
+     * @param pageSize the maximum number of subscriptions of the page
+     * @return a {@link ListenableFuture} which contains the first page of subscriptions
+     * failing with a {@link RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @throws IllegalArgumentException if the pageSize is smaller than 1.
+     * @since 3.4.5
+     */
+    ListenableFuture<Page<ClientSubscription>> iterateLocalSubscriptions(int pageSize);
+
+    /**
+     * Returns the next page of all subscriptions on this HiveMQ instance.
+     * <p/>
+     * Subscriptions which are added or removed during the iteration may or may not be part of the following pages.
+     *
+     * @param cursor   the cursor of the previous page
+     * @param pageSize the maximum number of subscriptions of the page
+     * @return a {@link ListenableFuture} which contains the next page of subscriptions
+     * failing with a {@link RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * failing with a {@link IterationFailedException} if the cursor is invalid or the iteration can not be continued.
+     * @throws NullPointerException     if the cursor is <code>null</code>.
+     * @throws IllegalArgumentException if the pageSize is smaller than 1.
+     * @since 3.4.5
+     */
+    ListenableFuture<Page<ClientSubscription>> iterateLocalSubscriptions(@NotNull String cursor, int pageSize);
+
+    /**
+     * Iterates over all subscriptions on this HiveMQ instance and pushes them to the given callback.
+     * <p/>
+     * The subscriptions are fetched page by page and the next page is only fetched after the callback consumed
+     * the previous one, so the iteration runs in bounded memory.
+     *
+     * @param callback the callback which is called for every subscription
+     * @return a {@link ListenableFuture} which contains nothing, it succeeds as soon as the iteration is finished or aborted by the callback
+     * failing with a {@link RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * failing with a {@link IterationFailedException} if the iteration can not be continued.
+     * @throws NullPointerException if the callback is <code>null</code>.
+     * @since 3.4.5
+     */
+    ListenableFuture<Void> iterateLocalSubscriptions(@NotNull IterationCallback<ClientSubscription> callback);
+
+    /**
+     * Returns the first page of all subscriptions on this HiveMQ instance and all other nodes in a HiveMQ cluster.
+     * <p/>
+     * In contrast to {@link #getSubscriptions()} only a single page is kept in memory, so this method can be used to
+     * export or audit a huge amount of subscriptions. The next page can be requested with
+     * {@link #iterateSubscriptions(String, int)} and the cursor of the page.
+     *
+     * @param pageSize the maximum number of subscriptions of the page
+     * @return a {@link ListenableFuture} which contains the first page of subscriptions
+     * failing with a {@link RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @throws IllegalArgumentException if the pageSize is smaller than 1.
+     * @since 3.4.5
+     */
+    ListenableFuture<Page<ClientSubscription>> iterateSubscriptions(int pageSize);
+
+    /**
+     * Returns the next page of all subscriptions on this HiveMQ instance and all other nodes in a HiveMQ cluster.
+     * <p/>
+     * Subscriptions which are added or removed during the iteration may or may not be part of the following pages.
+     *
+     * @param cursor   the cursor of the previous page
+     * @param pageSize the maximum number of subscriptions of the page
+     * @return a {@link ListenableFuture} which contains the next page of subscriptions
+     * failing with a {@link RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * failing with a {@link IterationFailedException} if the cursor is invalid or the iteration can not be continued.
+     * @throws NullPointerException     if the cursor is <code>null</code>.
+     * @throws IllegalArgumentException if the pageSize is smaller than 1.
+     * @since 3.4.5
+     */
+    ListenableFuture<Page<ClientSubscription>> iterateSubscriptions(@NotNull String cursor, int pageSize);
+
+    /**
+     * Iterates over all subscriptions on this HiveMQ instance and all other nodes in a HiveMQ cluster and pushes them to the given callback.
+     * <p/>
+     * The subscriptions are fetched page by page and the next page is only fetched after the callback consumed
+     * the previous one, so the iteration runs in bounded memory.
+     *
+     * @param callback the callback which is called for every subscription
+     * @return a {@link ListenableFuture} which contains nothing, it succeeds as soon as the iteration is finished or aborted by the callback
+     * failing with a {@link RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * failing with a {@link IterationFailedException} if the iteration can not be continued.
+     * @throws NullPointerException if the callback is <code>null</code>.
+     * @since 3.4.5
+     */
+    ListenableFuture<Void> iterateSubscriptions(@NotNull IterationCallback<ClientSubscription> callback);
 }
@@ -15,9 +15,13 @@
  */
 package com.hivemq.spi.services;
 
+import com.hivemq.spi.annotations.NotNull;
 import com.hivemq.spi.annotations.Nullable;
 import com.hivemq.spi.message.RetainedMessage;
+import com.hivemq.spi.message.RetainedMessageMetadata;
+import com.hivemq.spi.services.exception.IterationFailedException;
 import com.hivemq.spi.services.exception.RateLimitExceededException;
+import com.hivemq.spi.topic.exception.InvalidTopicException;
 
 import java.util.Set;
 
@@ -97,4 +101,110 @@ public interface BlockingRetainedMessageStore {
      * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
      */
     long size();
+
+    /**
+     * Returns all retained messages which match a topic filter, e.g. <code>plant/7/#</code>.
+     * <p/>
+     * Only the matching branches of the topic tree are visited, so this is much cheaper than filtering
+     * the result of {@link #getRetainedMessages()}.
+     *
+     * @param topicFilter the topic filter, MQTT wildcards are allowed
+     * @return all retained messages which match the topic filter
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @throws InvalidTopicException      if the topic filter is not valid.
+     * @since 3.4.5
+     */
+    Set<RetainedMessage> getRetainedMessages(@NotNull String topicFilter);
+
+    /**
+     * Returns the first page of the retained messages which match a topic filter. Use the topic filter <code>#</code> to
+     * iterate over all retained messages. Only a single page is kept in memory.
+     * The next page can be requested with {@link #iterateRetainedMessages(String, String, int)} and the cursor of the page.
+     *
+     * @param topicFilter the topic filter, MQTT wildcards are allowed
+     * @param pageSize    the maximum number of retained messages of the page
+     * @return the first page of retained messages
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @throws InvalidTopicException      if the topic filter is not valid.
+     * @throws IllegalArgumentException   if the pageSize is smaller than 1.
+     * @since 3.4.5
+     */
+    Page<RetainedMessage> iterateRetainedMessages(@NotNull String topicFilter, int pageSize);
+
+    /**
+     * Returns the next page of the retained messages which match a topic filter.
+     * <p/>
+     * Retained messages which are added or removed during the iteration may or may not be part of the following pages.
+     *
+     * @param topicFilter the topic filter, MQTT wildcards are allowed
+     * @param cursor      the cursor of the previous page
+     * @param pageSize    the maximum number of retained messages of the page
+     * @return the next page of retained messages
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @throws InvalidTopicException      if the topic filter is not valid.
+     * @throws IterationFailedException   if the cursor is invalid or the iteration can not be continued.
+     * @throws NullPointerException       if the cursor is <code>null</code>.
+     * @throws IllegalArgumentException   if the pageSize is smaller than 1.
+     * @since 3.4.5
+     */
+    Page<RetainedMessage> iterateRetainedMessages(@NotNull String topicFilter, @NotNull String cursor, int pageSize);
+
+    /**
+     * Iterates over the retained messages which match a topic filter and pushes them to the given callback.
+     * The next page of retained messages is only fetched after the callback consumed the previous one.
+     *
+     * @param topicFilter the topic filter, MQTT wildcards are allowed
+     * @param callback    the callback which is called for every retained message
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @throws InvalidTopicException      if the topic filter is not valid.
+     * @throws IterationFailedException   if the iteration can not be continued.
+     * @since 3.4.5
+     */
+    void iterateRetainedMessages(@NotNull String topicFilter, @NotNull IterationCallback<RetainedMessage> callback);
+
+    /**
+     * Returns the first page of the metadata (topic, QoS and payload size) of the retained messages which match a topic filter.
+     * The payloads are not loaded at all, which makes this suitable for inventories of big retained message stores.
+     * The next page can be requested with {@link #iterateRetainedMessageMetadata(String, String, int)} and the cursor of the page.
+     *
+     * @param topicFilter the topic filter, MQTT wildcards are allowed
+     * @param pageSize    the maximum number of entries of the page
+     * @return the first page of metadata
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @throws InvalidTopicException      if the topic filter is not valid.
+     * @throws IllegalArgumentException   if the pageSize is smaller than 1.
+     * @since 3.4.5
+     */
+    Page<RetainedMessageMetadata> iterateRetainedMessageMetadata(@NotNull String topicFilter, int pageSize);
+
+    /**
+     * Returns the next page of the metadata (topic, QoS and payload size) of the retained messages which match a topic filter.
+     * <p/>
+     * Retained messages which are added or removed during the iteration may or may not be part of the following pages.
+     *
+     * @param topicFilter the topic filter, MQTT wildcards are allowed
+     * @param cursor      the cursor of the previous page
+     * @param pageSize    the maximum number of entries of the page
+     * @return the next page of metadata
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @throws InvalidTopicException      if the topic filter is not valid.
+     * @throws IterationFailedException   if the cursor is invalid or the iteration can not be continued.
+     * @throws NullPointerException       if the cursor is <code>null</code>.
+     * @throws IllegalArgumentException   if the pageSize is smaller than 1.
+     * @since 3.4.5
+     */
+    Page<RetainedMessageMetadata> iterateRetainedMessageMetadata(@NotNull String topicFilter, @NotNull String cursor, int pageSize);
+
+    /**
+     * Iterates over the metadata (topic, QoS and payload size) of the retained messages which match a topic filter
+     * and pushes them to the given callback. The payloads are not loaded at all.
+     *
+     * @param topicFilter the topic filter, MQTT wildcards are allowed
+     * @param callback    the callback which is called for the metadata of every retained message
+     * @throws RateLimitExceededException if the plugin service rate limit was exceeded.
+     * @throws InvalidTopicException      if the topic filter is not valid.
+     * @throws IterationFailedException   if the iteration can not be continued.
+     * @since 3.4.5
+     */
+    void iterateRetainedMessageMetadata(@NotNull String topicFilter, @NotNull IterationCallback<RetainedMessageMetadata> callback);
 }
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services;
+
+import com.hivemq.spi.annotations.Immutable;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.message.Topic;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A subscription of a client to a topic.
+ *
+ * @since 3.4.5
+ */
+@Immutable
+public class ClientSubscription {
+
+    private final String clientId;
+    private final Topic topic;
+
+    public ClientSubscription(@NotNull final String clientId, @NotNull final Topic topic) {
+        checkNotNull(clientId, "Client id must not be null");
+        checkNotNull(topic, "Topic must not be null");
+        this.clientId = clientId;
+        this.topic = topic;
+    }
+
+    /**
+     * @return the client identifier of the subscriber
+     */
+    @NotNull
+    public String getClientId() {
+        return clientId;
+    }
+
+    /**
+     * @return the subscribed topic and its QoS
+     */
+    @NotNull
+    public Topic getTopic() {
+        return topic;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final ClientSubscription that = (ClientSubscription) o;
+
+        return clientId.equals(that.clientId) && topic.equals(that.topic);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = clientId.hashCode();
+        result = 31 * result + topic.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ClientSubscription{" +
+                "clientId='" + clientId + '\'' +
+                ", topic=" + topic +
+                '}';
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services;
+
+import com.hivemq.spi.annotations.NotNull;
+
+/**
+ * A callback for the streaming iteration over a potentially huge amount of items, e.g. all subscriptions.
+ * <p/>
+ * HiveMQ fetches the items in pages and pushes them one after another to the callback, the next page is only
+ * fetched after all items of the previous page were consumed. The callback is never called concurrently,
+ * so the memory used by the iteration stays bounded, no matter how many items there are.
+ *
+ * @param <T> the type of the items
+ * @since 3.4.5
+ */
+public interface IterationCallback<T> {
+
+    /**
+     * Called for every item of the iteration.
+     *
+     * @param item the item
+     * @return <code>true</code> to continue the iteration, <code>false</code> to abort it
+     */
+    boolean iterate(@NotNull T item);
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services;
+
+import com.google.common.collect.ImmutableList;
+import com.hivemq.spi.annotations.Immutable;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.Nullable;
+import com.hivemq.spi.annotations.ReadOnly;
+
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A single page of a paged iteration over a potentially huge amount of items, e.g. all subscriptions.
+ * <p/>
+ * The next page can be requested with the cursor of this page. The cursor is opaque and only valid for the
+ * iteration it was returned by. The last page has no cursor.
+ *
+ * @param <T> the type of the items
+ * @since 3.4.5
+ */
+@Immutable
+public class Page<T> {
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    /**
+     * @param items      the items of this page
+     * @param nextCursor the cursor of the next page or <code>null</code> if this is the last page
+     */
+    public Page(@NotNull final List<T> items, @Nullable final String nextCursor) {
+        checkNotNull(items, "Items must not be null");
+        this.items = ImmutableList.copyOf(items);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * The returned List is read-only and must not be modified.
+     *
+     * @return the items of this page, may be empty even if there is a next page
+     */
+    @NotNull
+    @ReadOnly
+    public List<T> getItems() {
+        return items;
+    }
+
+    /**
+     * @return the cursor to request the next page with or <code>null</code> if this is the last page
+     */
+    @Nullable
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    /**
+     * @return <code>true</code> if there is a next page
+     */
+    public boolean hasNextPage() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public String toString() {
+        return "Page{" +
+                "items=" + items.size() +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
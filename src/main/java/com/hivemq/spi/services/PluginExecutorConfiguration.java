@@ -0,0 +1,134 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services;
+
+import com.hivemq.spi.annotations.Immutable;
+import com.hivemq.spi.annotations.NotNull;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The queue configuration of the {@link PluginExecutorService}.
+ * <p/>
+ * Every {@link TaskPriority} has its own queue with the configured capacity. If a task is submitted while the queue
+ * of its priority is full, the {@link RejectionPolicy} decides what happens.
+ *
+ * @since 3.4.5
+ */
+@Immutable
+public class PluginExecutorConfiguration {
+
+    /**
+     * The behaviour if a task is submitted while the queue of its priority is full
+     */
+    public enum RejectionPolicy {
+
+        /**
+         * the task runs on the thread which submits it, this slows down the producer of the tasks
+         */
+        CALLER_RUNS,
+
+        /**
+         * the oldest queued task with the same priority is cancelled and the task is queued instead
+         */
+        DROP_OLDEST,
+
+        /**
+         * the future of the task fails immediately with a {@link java.util.concurrent.RejectedExecutionException}
+         * and the task is counted by the {@link com.hivemq.spi.metrics.HiveMQMetrics#PLUGIN_EXECUTOR_SERVICE_REJECTED} metric
+         */
+        FAIL_FAST
+    }
+
+    /**
+     * the capacity of a queue which is not bounded
+     */
+    public static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    private final int queueCapacity;
+    private final RejectionPolicy rejectionPolicy;
+
+    private PluginExecutorConfiguration(final int queueCapacity, final RejectionPolicy rejectionPolicy) {
+        this.queueCapacity = queueCapacity;
+        this.rejectionPolicy = rejectionPolicy;
+    }
+
+    /**
+     * @return the maximum number of queued tasks per priority
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * @return the behaviour if a task is submitted while the queue of its priority is full
+     */
+    @NotNull
+    public RejectionPolicy getRejectionPolicy() {
+        return rejectionPolicy;
+    }
+
+    @Override
+    public String toString() {
+        return "PluginExecutorConfiguration{" +
+                "queueCapacity=" + queueCapacity +
+                ", rejectionPolicy=" + rejectionPolicy +
+                '}';
+    }
+
+    /**
+     * A builder which allows to conveniently build a PluginExecutorConfiguration with a fluent API
+     */
+    public static class Builder {
+
+        private int queueCapacity = UNBOUNDED;
+        private RejectionPolicy rejectionPolicy = RejectionPolicy.FAIL_FAST;
+
+        /**
+         * Sets the maximum number of queued tasks per priority. Defaults to {@link #UNBOUNDED}.
+         *
+         * @param queueCapacity the maximum number of queued tasks per priority
+         * @return the Builder
+         */
+        public Builder queueCapacity(final int queueCapacity) {
+            checkArgument(queueCapacity > 0, "Queue capacity must be positive");
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /**
+         * Sets the behaviour if a task is submitted while the queue of its priority is full.
+         * Defaults to {@link RejectionPolicy#FAIL_FAST}.
+         *
+         * @param rejectionPolicy the rejection policy
+         * @return the Builder
+         */
+        public Builder rejectionPolicy(@NotNull final RejectionPolicy rejectionPolicy) {
+            checkNotNull(rejectionPolicy, "Rejection policy must not be null");
+            this.rejectionPolicy = rejectionPolicy;
+            return this;
+        }
+
+        /**
+         * @return the PluginExecutorConfiguration
+         */
+        public PluginExecutorConfiguration build() {
+            return new PluginExecutorConfiguration(queueCapacity, rejectionPolicy);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services;
+
+import com.codahale.metrics.Gauge;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.metrics.HiveMQMetric;
+import com.hivemq.spi.metrics.HiveMQMetrics;
+
+import java.util.Locale;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * The metrics of the single lanes and priorities of the {@link PluginExecutorService}.
+ * <p/>
+ * All metrics are {@link Gauge}s and are named <code>com.hivemq.plugin.executor.lanes.&lt;lane&gt;.&lt;metric&gt;</code>
+ * or <code>com.hivemq.plugin.executor.priorities.&lt;priority&gt;.&lt;metric&gt;</code>.
+ * They can be looked up with the {@link BlockingMetricService}, e.g.
+ * <code>metricService.getHiveMQMetric(PluginExecutorMetrics.laneQueueSize(0))</code>.
+ *
+ * @since 3.4.5
+ */
+public class PluginExecutorMetrics {
+
+    private PluginExecutorMetrics() {
+        //Don't instantiate
+    }
+
+    /**
+     * @param lane the index of the lane
+     * @return the {@link Gauge} for the number of tasks which wait in the lane
+     * @throws IllegalArgumentException if the lane is negative
+     */
+    @NotNull
+    public static HiveMQMetric<Gauge<Number>> laneQueueSize(final int lane) {
+        return laneGauge(lane, "queue-size");
+    }
+
+    /**
+     * @param priority the priority
+     * @return the {@link Gauge} for the number of queued tasks with the priority
+     * @throws NullPointerException if the priority is <code>null</code>
+     */
+    @NotNull
+    public static HiveMQMetric<Gauge<Number>> priorityQueueSize(@NotNull final TaskPriority priority) {
+        checkNotNull(priority, "Priority must not be null");
+        return HiveMQMetric.gaugeValue(HiveMQMetrics.PLUGIN_EXECUTOR_PREFIX + ".priorities." +
+                priority.name().toLowerCase(Locale.ENGLISH) + ".queue-size");
+    }
+
+    private static HiveMQMetric<Gauge<Number>> laneGauge(final int lane, final String metric) {
+        checkArgument(lane >= 0, "Lane must not be negative");
+        return HiveMQMetric.gaugeValue(HiveMQMetrics.PLUGIN_EXECUTOR_PREFIX + ".lanes." + lane + "." + metric);
+    }
+}
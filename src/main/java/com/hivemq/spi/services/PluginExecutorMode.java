@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services;
+
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.Nullable;
+
+/**
+ * The threads on which the tasks of the {@link PluginExecutorService} run.
+ * <p/>
+ * By default, the tasks run on a fixed size pool of platform threads. Plugins which mostly block on I/O, e.g. JDBC,
+ * HTTP or LDAP calls, can be limited by the size of the pool. On JDKs which support virtual threads, HiveMQ can run
+ * every task on its own virtual thread instead by starting HiveMQ with the system property
+ * <code>-Dhivemq.plugin.executor.mode=virtual</code>. On JDKs without virtual threads the pool of platform
+ * threads is used anyway.
+ * <p/>
+ * The scheduling semantics of the {@link PluginExecutorService} are the same in both modes: scheduled tasks are
+ * triggered by a platform thread and run on a virtual thread when they are due. The
+ * <code>com.hivemq.plugin.executor</code> metrics measure tasks, not threads, so they have the same meaning in both modes.
+ *
+ * @since 3.4.5
+ */
+public enum PluginExecutorMode {
+
+    /**
+     * tasks run on a fixed size pool of platform threads
+     */
+    PLATFORM_THREADS,
+
+    /**
+     * every task runs on its own virtual thread
+     */
+    VIRTUAL_THREADS;
+
+    /**
+     * the system property which selects the mode, either <code>platform</code> or <code>virtual</code>
+     */
+    public static final String SYSTEM_PROPERTY = "hivemq.plugin.executor.mode";
+
+    /**
+     * @return the mode which is selected by the system property, {@link #PLATFORM_THREADS} if the property is not set
+     * @throws IllegalArgumentException if the system property has an unknown value
+     */
+    @NotNull
+    public static PluginExecutorMode configured() {
+        return parse(System.getProperty(SYSTEM_PROPERTY));
+    }
+
+    /**
+     * @return the mode which is used, this is {@link #PLATFORM_THREADS} if virtual threads are selected but
+     * not supported by the JDK
+     * @throws IllegalArgumentException if the system property has an unknown value
+     */
+    @NotNull
+    public static PluginExecutorMode effective() {
+        return effective(configured(), virtualThreadsSupported());
+    }
+
+    /**
+     * Virtual threads are only supported if they can be created. On JDK 19 and 20 they are a preview feature, which
+     * is not supported unless preview features are enabled.
+     *
+     * @return <code>true</code> if the JDK supports virtual threads
+     */
+    public static boolean virtualThreadsSupported() {
+        return virtualThreadsSupported(Thread.class);
+    }
+
+    static boolean virtualThreadsSupported(@NotNull final Class<?> threadClass) {
+        try {
+            return threadClass.getMethod("ofVirtual").invoke(null) != null;
+        } catch (final Throwable t) {
+            return false;
+        }
+    }
+
+    @NotNull
+    static PluginExecutorMode parse(@Nullable final String value) {
+        if (value == null || value.trim().isEmpty() || "platform".equalsIgnoreCase(value.trim())) {
+            return PLATFORM_THREADS;
+        }
+        if ("virtual".equalsIgnoreCase(value.trim())) {
+            return VIRTUAL_THREADS;
+        }
+        throw new IllegalArgumentException("Unknown plugin executor mode " + value + ", use 'platform' or 'virtual'");
+    }
+
+    @NotNull
+    static PluginExecutorMode effective(@NotNull final PluginExecutorMode configured, final boolean virtualThreadsSupported) {
+        if (configured == VIRTUAL_THREADS && !virtualThreadsSupported) {
+            return PLATFORM_THREADS;
+        }
+        return configured;
+    }
+}
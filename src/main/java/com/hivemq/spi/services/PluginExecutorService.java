@@ -16,15 +16,32 @@
 
 package com.hivemq.spi.services;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningScheduledExecutorService;
+import com.hivemq.spi.annotations.NotNull;
 
 import java.util.List;
+import java.util.concurrent.Callable;
 
 /**
  * A shared thread pool executor which is a {@link ListeningScheduledExecutorService}.
  * It is recommended to use this instead of creating your own thread(-pool) in your plugin.
  * <p/>
  * Use this class for all concurrent code.
+ * <p/>
+ * Tasks which must not run concurrently and must keep their order, e.g. all updates of the state of a single client,
+ * can be submitted with a key by {@link #submit(String, Callable)}. Tasks with the same key run one after another in
+ * the order in which they were submitted, tasks with different keys run in parallel. The keys are distributed to a fixed
+ * number of lanes, so tasks with different keys can share a lane and wait for each other as well.
+ * The queue sizes of the lanes are available as metrics, see {@link PluginExecutorMetrics}.
+ * <p/>
+ * Tasks can be submitted with a {@link TaskPriority}, queued tasks with a higher priority run first. The queues of the
+ * priorities can be bounded with {@link #setConfiguration(PluginExecutorConfiguration)}, so a slow plugin can't buffer
+ * an unlimited number of tasks.
+ * <p/>
+ * For a large number of timeouts, e.g. one per client, use the {@link TimerService} instead of scheduling them here.
+ * <p/>
+ * Plugins which mostly block on I/O can run on virtual threads on JDKs which support them, see {@link PluginExecutorMode}.
  *
  * @author Christoph Schäbel
  */
@@ -54,4 +71,108 @@ public interface PluginExecutorService extends ListeningScheduledExecutorService
     @Override
     List<Runnable> shutdownNow();
 
+    /**
+     * Submits a task which runs after all tasks which were submitted with the same key before.
+     * If a task fails, the next task with the same key runs anyway.
+     *
+     * @param key  the key, e.g. the client identifier
+     * @param task the task
+     * @return a {@link ListenableFuture} with the result of the task
+     * @throws NullPointerException if the key or the task is <code>null</code>
+     * @since 3.4.5
+     */
+    @NotNull
+    <T> ListenableFuture<T> submit(@NotNull String key, @NotNull Callable<T> task);
+
+    /**
+     * Submits a task which runs after all tasks which were submitted with the same key before.
+     * If a task fails, the next task with the same key runs anyway.
+     *
+     * @param key  the key, e.g. the client identifier
+     * @param task the task
+     * @return a {@link ListenableFuture} which succeeds with <code>null</code> when the task is done
+     * @throws NullPointerException if the key or the task is <code>null</code>
+     * @since 3.4.5
+     */
+    @NotNull
+    ListenableFuture<?> submit(@NotNull String key, @NotNull Runnable task);
+
+    /**
+     * @return the number of lanes for tasks with keys
+     * @since 3.4.5
+     */
+    int getLaneCount();
+
+    /**
+     * @param lane the index of the lane, from 0 to {@link #getLaneCount()} - 1
+     * @return the number of tasks which wait in the lane
+     * @throws IndexOutOfBoundsException if there is no lane with this index
+     * @since 3.4.5
+     */
+    int getLaneQueueSize(int lane);
+
+    /**
+     * @return the threads on which the tasks run, which is {@link PluginExecutorMode#PLATFORM_THREADS} if
+     * virtual threads were selected but are not supported by the JDK
+     * @since 3.4.5
+     */
+    @NotNull
+    PluginExecutorMode getExecutionMode();
+
+    /**
+     * Submits a task with a priority. Queued tasks with a higher priority run before queued tasks with a lower
+     * priority, all other submit methods use {@link TaskPriority#NORMAL}.
+     *
+     * @param priority the priority of the task
+     * @param task     the task
+     * @return a {@link ListenableFuture} with the result of the task, failing with a
+     * {@link java.util.concurrent.RejectedExecutionException} if the task was rejected or
+     * cancelled if the task was dropped because of the {@link PluginExecutorConfiguration.RejectionPolicy}
+     * @throws NullPointerException if the priority or the task is <code>null</code>
+     * @since 3.4.5
+     */
+    @NotNull
+    <T> ListenableFuture<T> submit(@NotNull TaskPriority priority, @NotNull Callable<T> task);
+
+    /**
+     * Submits a task with a priority. Queued tasks with a higher priority run before queued tasks with a lower
+     * priority, all other submit methods use {@link TaskPriority#NORMAL}.
+     *
+     * @param priority the priority of the task
+     * @param task     the task
+     * @return a {@link ListenableFuture} which succeeds with <code>null</code> when the task is done, failing with a
+     * {@link java.util.concurrent.RejectedExecutionException} if the task was rejected or
+     * cancelled if the task was dropped because of the {@link PluginExecutorConfiguration.RejectionPolicy}
+     * @throws NullPointerException if the priority or the task is <code>null</code>
+     * @since 3.4.5
+     */
+    @NotNull
+    ListenableFuture<?> submit(@NotNull TaskPriority priority, @NotNull Runnable task);
+
+    /**
+     * @return the current queue configuration
+     * @since 3.4.5
+     */
+    @NotNull
+    PluginExecutorConfiguration getConfiguration();
+
+    /**
+     * Changes the queue configuration at runtime. The Plugin Executor Service is shared by all plugins,
+     * so the configuration applies to the tasks of all plugins.
+     * <p/>
+     * Tasks which are already queued are not affected, even if a queue holds more tasks than the new capacity.
+     *
+     * @param configuration the new queue configuration
+     * @throws NullPointerException if the configuration is <code>null</code>
+     * @since 3.4.5
+     */
+    void setConfiguration(@NotNull PluginExecutorConfiguration configuration);
+
+    /**
+     * @param priority the priority
+     * @return the number of queued tasks with the priority
+     * @throws NullPointerException if the priority is <code>null</code>
+     * @since 3.4.5
+     */
+    int getQueueSize(@NotNull TaskPriority priority);
 }
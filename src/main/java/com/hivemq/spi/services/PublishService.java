@@ -16,11 +16,23 @@
 
 package com.hivemq.spi.services;
 
+import com.google.common.util.concurrent.ListenableFuture;
 import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.ReadOnly;
 import com.hivemq.spi.message.PUBLISH;
+import com.hivemq.spi.services.exception.PublishCapacityExceededException;
+import com.hivemq.spi.services.exception.RateLimitExceededException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 /**
  * This service allows plugins to publish new MQTT messages programmatically
+ * <p/>
+ * Plugins which produce messages faster than HiveMQ can deliver them should use {@link #publishAsync(PUBLISH)}.
+ * The number of asynchronous PUBLISHes which are not handed off yet is limited by publish permits, so a producer
+ * can slow down at the source with {@link #awaitPublishCapacity()} instead of filling up the heap.
  *
  * @author Lukas Brandl
  * @since 1.5
@@ -53,4 +65,82 @@ public interface PublishService {
      *                              or message is <code>null</code>
      */
     void publishtoClient(@NotNull PUBLISH publish, @NotNull String clientId);
+
+    /**
+     * Publishes many new MQTT {@link PUBLISH} messages at once. The standard MQTT topic matching mechanism of HiveMQ will apply.
+     * <p/>
+     * The routing lookups and the replication in a cluster are done for the whole batch, so this is much cheaper
+     * than calling {@link #publish(PUBLISH)} for every message. The messages are published in the iteration
+     * order of the collection.
+     * <p/>
+     * The returned List is read-only and must not be modified.
+     *
+     * @param publishes the PUBLISH messages which should be published to all subscribed clients
+     * @return a {@link ListenableFuture} which contains the {@link PublishStatus} of every PUBLISH in the iteration
+     * order of the collection, as soon as all messages were handed off,
+     * failing with a {@link RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @throws NullPointerException if the collection, any of its PUBLISH messages or any relevant information like
+     *                              topic, qos or message of a PUBLISH is <code>null</code>
+     * @since 3.4.5
+     */
+    @ReadOnly
+    ListenableFuture<List<PublishStatus>> publishAll(@NotNull Collection<PUBLISH> publishes);
+
+    /**
+     * Publishes a new MQTT {@link PUBLISH} message to many clients at once.
+     * The PUBLISH will only be delivered to the clients with the specified client identifiers,
+     * which need to be subscribed on the topic of the PUBLISH in order to receive it.
+     * <p/>
+     * This is much cheaper than calling {@link #publishtoClient(PUBLISH, String)} for every client.
+     * <p/>
+     * The returned Map is read-only and must not be modified.
+     *
+     * @param publish   object with topic, QoS and message, which should be published to the clients
+     * @param clientIds the client identifiers of the clients which should receive the PUBLISH
+     * @return a {@link ListenableFuture} which contains the {@link PublishStatus} for every client identifier,
+     * as soon as the PUBLISH was handed off to all clients.
+     * {@link PublishStatus#NO_MATCHING_SUBSCRIBERS} means that the client is not subscribed to the topic,
+     * failing with a {@link RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @throws NullPointerException if the PUBLISH, the collection or any of its client identifiers or any relevant
+     *                              information like topic, qos or message of the PUBLISH is <code>null</code>
+     * @since 3.4.5
+     */
+    @ReadOnly
+    ListenableFuture<Map<String, PublishStatus>> publishToClients(@NotNull PUBLISH publish, @NotNull Collection<String> clientIds);
+
+    /**
+     * Publishes a new MQTT {@link PUBLISH} message with backpressure. The standard MQTT topic matching mechanism of HiveMQ will apply.
+     * <p/>
+     * Every PUBLISH which was not handed off yet holds one publish permit. If no permit is available, the PUBLISH
+     * is rejected immediately instead of being queued. The permit is released as soon as the returned future is done.
+     *
+     * @param publish object with topic, QoS and message, which should be published to all subscribed clients
+     * @return a {@link ListenableFuture} which contains the {@link PublishStatus} of the PUBLISH as soon as it was handed off,
+     * failing with a {@link PublishCapacityExceededException} if no publish permit is available,
+     * failing with a {@link RateLimitExceededException} if the plugin service rate limit was exceeded.
+     * @throws NullPointerException if the given object is <code>null</code> or any relevant information like topic, qos
+     *                              or message is <code>null</code>
+     * @since 3.4.5
+     */
+    ListenableFuture<PublishStatus> publishAsync(@NotNull PUBLISH publish);
+
+    /**
+     * Returns the number of publish permits which are currently available for {@link #publishAsync(PUBLISH)}.
+     * The value is only a snapshot and may change at any time.
+     *
+     * @return the number of available publish permits
+     * @since 3.4.5
+     */
+    int getAvailablePublishPermits();
+
+    /**
+     * Returns a future which is done as soon as at least one publish permit is available.
+     * <p/>
+     * Note that another producer may take the permit before the PUBLISH of the caller, so
+     * {@link #publishAsync(PUBLISH)} can still fail with a {@link PublishCapacityExceededException}.
+     *
+     * @return a {@link ListenableFuture} which succeeds as soon as a publish permit is available
+     * @since 3.4.5
+     */
+    ListenableFuture<Void> awaitPublishCapacity();
 }
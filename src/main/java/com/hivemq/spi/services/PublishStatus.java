@@ -0,0 +1,40 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services;
+
+/**
+ * The outcome of a PUBLISH which was published with the {@link PublishService}.
+ *
+ * @since 3.4.5
+ */
+public enum PublishStatus {
+
+    /**
+     * The PUBLISH was handed off to all matching subscribers
+     */
+    DELIVERED,
+
+    /**
+     * No client was subscribed to the topic of the PUBLISH, so it was not delivered to any client
+     */
+    NO_MATCHING_SUBSCRIBERS,
+
+    /**
+     * The PUBLISH could not be handed off, e.g. because the message queue of the client is full
+     */
+    FAILED
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services;
+
+/**
+ * The priority lanes of the {@link PluginExecutorService}.
+ * <p/>
+ * Queued tasks with a higher priority always run before queued tasks with a lower priority, so critical work
+ * like the cleanup of sessions doesn't wait behind bulk work like analytics. Tasks with the same priority run
+ * in the order in which they were submitted.
+ *
+ * @since 3.4.5
+ */
+public enum TaskPriority {
+
+    /**
+     * for critical work, which must not wait behind other tasks
+     */
+    HIGH,
+
+    /**
+     * the priority of all tasks which are submitted without a priority
+     */
+    NORMAL,
+
+    /**
+     * for bulk work, which can wait
+     */
+    LOW
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services;
+
+import com.hivemq.spi.annotations.Nullable;
+
+/**
+ * A handle for a task which was scheduled with the {@link TimerService}.
+ *
+ * @since 3.4.5
+ */
+public interface Timeout {
+
+    /**
+     * Cancels the task if it didn't expire yet. Cancelling is a constant time operation.
+     *
+     * @return <code>true</code> if the task was cancelled, <code>false</code> if it expired or was cancelled before
+     */
+    boolean cancel();
+
+    /**
+     * @return <code>true</code> if the task was cancelled
+     */
+    boolean isCancelled();
+
+    /**
+     * @return <code>true</code> if the delay of the task elapsed and the task was handed to the
+     * {@link PluginExecutorService}
+     */
+    boolean isExpired();
+
+    /**
+     * @return the key of the task or <code>null</code> if the task was scheduled without a key
+     */
+    @Nullable
+    String getKey();
+}
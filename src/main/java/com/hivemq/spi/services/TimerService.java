@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services;
+
+import com.hivemq.spi.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This service allows plugins to schedule a large number of timeouts, e.g. one per client for the expiry
+ * of an authentication token or an idle check.
+ * <p/>
+ * In contrast to {@link PluginExecutorService#schedule(Runnable, long, TimeUnit)}, which keeps all tasks in a
+ * heap with logarithmic insert and removal costs, the timer service is a hashed wheel timer: scheduling and
+ * cancelling a timeout are constant time operations, independent of the number of pending timeouts. In exchange,
+ * tasks don't expire exactly after their delay but at the next tick after their delay, so the tick duration
+ * is the resolution of the timer.
+ * <p/>
+ * Expired tasks run on the {@link PluginExecutorService}, never on the thread of the timer. Tasks can be scheduled
+ * with a key, e.g. the client identifier, so all timeouts of a client can be cancelled with a single call of
+ * {@link #cancelAll(String)}.
+ * <p/>
+ * The timer service can be injected into the plugin like all other services, e.g. with <code>@Inject</code> in the
+ * constructor of the {@link com.hivemq.spi.PluginEntryPoint}.
+ * <p/>
+ * The timer service is stopped automatically when HiveMQ shuts down, all pending timeouts are cancelled.
+ *
+ * @since 3.4.5
+ */
+public interface TimerService {
+
+    /**
+     * Schedules a task which runs once after the delay.
+     *
+     * @param task  the task
+     * @param delay the delay
+     * @param unit  the unit of the delay
+     * @return the {@link Timeout} of the task, which can be used to cancel it
+     * @throws NullPointerException     if the task or the unit is <code>null</code>
+     * @throws IllegalArgumentException if the delay is negative
+     */
+    @NotNull
+    Timeout newTimeout(@NotNull Runnable task, long delay, @NotNull TimeUnit unit);
+
+    /**
+     * Schedules a task with a key which runs once after the delay.
+     *
+     * @param key   the key, e.g. the client identifier
+     * @param task  the task
+     * @param delay the delay
+     * @param unit  the unit of the delay
+     * @return the {@link Timeout} of the task, which can be used to cancel it
+     * @throws NullPointerException     if the key, the task or the unit is <code>null</code>
+     * @throws IllegalArgumentException if the delay is negative
+     */
+    @NotNull
+    Timeout newTimeout(@NotNull String key, @NotNull Runnable task, long delay, @NotNull TimeUnit unit);
+
+    /**
+     * Cancels all pending timeouts with the key.
+     *
+     * @param key the key
+     * @return the number of cancelled timeouts
+     * @throws NullPointerException if the key is <code>null</code>
+     */
+    int cancelAll(@NotNull String key);
+
+    /**
+     * @return the number of timeouts which are neither expired nor cancelled
+     */
+    long getPendingTimeouts();
+
+    /**
+     * @return the tick duration, which is the resolution of this timer, in milliseconds
+     */
+    long getTickDurationMillis();
+
+    /**
+     * Returns a timer service with a different tick duration. Timer services with the same tick duration are
+     * shared between all plugins, so use a coarse resolution for timeouts which don't need to be precise.
+     * <p/>
+     * The default timer service, which is injected, has a tick duration of 100 milliseconds.
+     *
+     * @param tickDuration the tick duration
+     * @param unit         the unit of the tick duration
+     * @return the timer service with the tick duration
+     * @throws NullPointerException     if the unit is <code>null</code>
+     * @throws IllegalArgumentException if the tick duration is less than 1 millisecond
+     */
+    @NotNull
+    TimerService withTickDuration(long tickDuration, @NotNull TimeUnit unit);
+}
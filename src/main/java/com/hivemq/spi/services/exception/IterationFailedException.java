@@ -0,0 +1,30 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services.exception;
+
+/**
+ * Signals that a paged or streaming iteration can not be continued, e.g. because the cursor is invalid or
+ * the cluster topology changed during the iteration. The iteration has to be restarted from the first page.
+ *
+ * @since 3.4.5
+ */
+public class IterationFailedException extends RuntimeException {
+
+    public IterationFailedException(final String message) {
+        super(message);
+    }
+}
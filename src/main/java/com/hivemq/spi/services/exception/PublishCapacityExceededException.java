@@ -0,0 +1,35 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.services.exception;
+
+/**
+ * Signals that a PUBLISH was rejected because all publish permits of the
+ * {@link com.hivemq.spi.services.PublishService} are in use.
+ * <p/>
+ * The producer should slow down and wait for {@link com.hivemq.spi.services.PublishService#awaitPublishCapacity()}
+ * before it publishes again.
+ *
+ * @since 3.4.5
+ */
+public class PublishCapacityExceededException extends RuntimeException {
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        //Thrown very often under load, the stacktrace would only be noise
+        return this;
+    }
+}
@@ -38,6 +38,12 @@ import org.apache.commons.lang3.StringUtils;
  */
 public class MqttTopicPermission {
 
+    /**
+     * Bit which is set in the access mask of invalid requests, e.g. if the QoS is <code>null</code>.
+     * It is never part of the access of a permission, so invalid requests are never implied.
+     */
+    private static final int INVALID_ACCESS = 1 << 7;
+
     private final String topic;
     private final QOS qos;
     private final ACTIVITY activity;
@@ -45,9 +51,12 @@ public class MqttTopicPermission {
     private final RETAIN publishRetain;
     private final String stripedTopic;
     private final String[] splitTopic;
+    private final ParsedTopic parsedTopic;
     private final boolean nonWildCard;
     private final boolean rootWildCard;
     private final boolean endsWithWildCard;
+    private final int access;
+    private final int deniedAccess;
     private PermissionTopicMatcher topicMatcher = new PermissionTopicMatcher();
 
     public enum TYPE {
@@ -68,50 +77,48 @@ public class MqttTopicPermission {
         /**
          * Only QoS 0 is allowed/denied
          */
-        ZERO,
+        ZERO(0b001),
         /**
          * Only QoS 1 is allowed/denied
          */
-        ONE,
+        ONE(0b010),
         /**
          * Only QoS 2 is allowed/denied
          */
-        TWO,
+        TWO(0b100),
         /**
          * Only QoS 0 and 1 are allowed/denied
          */
-        ZERO_ONE,
+        ZERO_ONE(0b011),
         /**
          * Only QoS 0 and 2 are allowed/denied
          */
-        ZERO_TWO,
+        ZERO_TWO(0b101),
         /**
          * Only QoS 1 and 2 are allowed/denied
          */
-        ONE_TWO,
+        ONE_TWO(0b110),
         /**
          * All QoS levels are allowed/denied
          */
-        ALL;
+        ALL(0b111);
+
+        /**
+         * the QoS levels as bits 0 to 2 of an access mask
+         */
+        private final int accessBits;
 
-        private QOS() {
+        private QOS(final int accessBits) {
+            this.accessBits = accessBits;
         }
 
 
+        /**
+         * The QoS numbers are the ordinals of {@link #ZERO}, {@link #ONE} and {@link #TWO}
+         */
         public static QOS from(final QoS from) {
 
-            switch (from) {
-                case AT_MOST_ONCE:
-                    return QOS.ZERO;
-                case AT_LEAST_ONCE:
-                    return QOS.ONE;
-                case EXACTLY_ONCE:
-                    return QOS.TWO;
-                default:
-                    //Should never happen
-                    throw new RuntimeException("Invalid Qos");
-
-            }
+            return values()[from.getQosNumber()];
         }
     }
 
@@ -123,15 +130,24 @@ public class MqttTopicPermission {
         /**
          * Only publishing on this topic is allowed/denied
          */
-        PUBLISH,
+        PUBLISH(0b01 << 3),
         /**
          * Only subscribing on this topic is allowed/denied
          */
-        SUBSCRIBE,
+        SUBSCRIBE(0b10 << 3),
         /**
          * Publishing and subscribing is allowed/denied on this topic
          */
-        ALL
+        ALL(0b11 << 3);
+
+        /**
+         * the activities as bits 3 and 4 of an access mask
+         */
+        private final int accessBits;
+
+        private ACTIVITY(final int accessBits) {
+            this.accessBits = accessBits;
+        }
     }
 
     public enum RETAIN {
@@ -139,15 +155,24 @@ public class MqttTopicPermission {
         /**
          * Only publishing retained is allowed/denied
          */
-        RETAINED,
+        RETAINED(0b01 << 5),
         /**
          * Only publishing not retained is allowed/denied
          */
-        NOT_RETAINED,
+        NOT_RETAINED(0b10 << 5),
         /**
          * Both, retained and not retained are allowed/denied
          */
-        ALL
+        ALL(0b11 << 5);
+
+        /**
+         * the retain flags as bits 5 and 6 of an access mask
+         */
+        private final int accessBits;
+
+        private RETAIN(final int accessBits) {
+            this.accessBits = accessBits;
+        }
     }
 
     /**
@@ -212,10 +237,61 @@ public class MqttTopicPermission {
         this.publishRetain = publishRetain;
         stripedTopic = StringUtils.stripEnd(topic, "/");
         splitTopic = StringUtils.splitPreserveAllTokens(topic, "/");
+        parsedTopic = ParsedTopic.of(topic);
         nonWildCard = StringUtils.containsNone(stripedTopic, "#+");
         rootWildCard = stripedTopic.contains("#");
         endsWithWildCard = StringUtils.endsWith(stripedTopic, "/#");
 
+        //A permission without activity applies to every activity, a permission without QoS or retain flag
+        //never matched a QoS or retain flag
+        access = (qos != null ? qos.accessBits : 0)
+                | (activity != null ? activity.accessBits : ACTIVITY.ALL.accessBits)
+                | (publishRetain != null ? publishRetain.accessBits : 0);
+        deniedAccess = ~access;
+    }
+
+    /**
+     * Creates the access mask of a subscription, which can be passed to {@link #implies(ParsedTopic, int)}
+     * to check many permissions without comparing the QoS and activity enums for every permission.
+     *
+     * @param qoS      the QoS
+     * @param activity the activity
+     * @return the access mask
+     * @since 3.4.5
+     */
+    public static int accessMask(final QoS qoS, final ACTIVITY activity) {
+        if (qoS == null || activity == null) {
+            return INVALID_ACCESS;
+        }
+        return (1 << qoS.getQosNumber()) | activity.accessBits;
+    }
+
+    /**
+     * Creates the access mask of a PUBLISH, which can be passed to {@link #implies(ParsedTopic, int)}
+     * to check many permissions without comparing the QoS, activity and retain enums for every permission.
+     *
+     * @param qoS      the QoS
+     * @param activity the activity
+     * @param retained if a retained message is published
+     * @return the access mask
+     * @since 3.4.5
+     */
+    public static int accessMask(final QoS qoS, final ACTIVITY activity, final boolean retained) {
+        return accessMask(qoS, activity) | (retained ? RETAIN.RETAINED.accessBits : RETAIN.NOT_RETAINED.accessBits);
+    }
+
+    private static int accessMask(final QoS qoS, final ACTIVITY activity, final RETAIN retain) {
+        if (retain == null) {
+            return INVALID_ACCESS;
+        }
+        return accessMask(qoS, activity) | retain.accessBits;
+    }
+
+    private static int accessMask(final QOS qoS, final ACTIVITY activity) {
+        if (qoS == null || activity == null) {
+            return INVALID_ACCESS;
+        }
+        return qoS.accessBits | activity.accessBits;
     }
 
     /**
@@ -237,14 +313,15 @@ public class MqttTopicPermission {
     /**
      * Checks the MqttTopicPermission implies a given topic, qos and activity combination
      *
-     * @param topic    the topic to check
-     * @param qoS      the QoS to check
-     * @param activity the activity to check
+     * @param topic      the topic to check
+     * @param splitTopic the levels of the topic or <code>null</code> to match the topic without splitting it
+     * @param qoS        the QoS to check
+     * @param activity   the activity to check
      * @return <code>true</code> if the given topic, qos and activity combination is implied
      */
     public boolean implies(final String topic, final String[] splitTopic, final QoS qoS, final ACTIVITY activity, final boolean retained) {
 
-        return implies(topic, splitTopic, qoS, activity, retained ? RETAIN.RETAINED : RETAIN.NOT_RETAINED);
+        return implies(topic, splitTopic, accessMask(qoS, activity, retained));
     }
 
     /**
@@ -257,28 +334,21 @@ public class MqttTopicPermission {
      */
     public boolean implies(final String topic, final QoS qoS, final ACTIVITY activity, final boolean retained) {
 
-        return implies(topic, StringUtils.splitPreserveAllTokens(topic, "/"), qoS, activity, retained ? RETAIN.RETAINED : RETAIN.NOT_RETAINED);
+        return implies(topic, null, accessMask(qoS, activity, retained));
     }
 
     /**
      * Checks the MqttTopicPermission implies a given topic, qos and activity combination
      *
-     * @param topic    the topic to check
-     * @param qoS      the QoS to check
-     * @param activity the activity to check
+     * @param topic      the topic to check
+     * @param splitTopic the levels of the topic or <code>null</code> to match the topic without splitting it
+     * @param qoS        the QoS to check
+     * @param activity   the activity to check
      * @return <code>true</code> if the given topic, qos and activity combination is implied
      */
     public boolean implies(final String topic, final String[] splitTopic, final QoS qoS, final ACTIVITY activity, final RETAIN RETAIN) {
 
-        if (RETAIN == null) {
-            return false;
-        }
-
-        if (this.publishRetain != RETAIN.ALL && this.publishRetain != RETAIN) {
-            return false;
-        }
-
-        return implies(topic, splitTopic, qoS, activity);
+        return implies(topic, splitTopic, accessMask(qoS, activity, RETAIN));
     }
 
     /**
@@ -291,24 +361,21 @@ public class MqttTopicPermission {
      */
     public boolean implies(final String topic, final QoS qoS, final ACTIVITY activity, final RETAIN RETAIN) {
 
-        return implies(topic, StringUtils.splitPreserveAllTokens(topic, "/"), qoS, activity, RETAIN);
+        return implies(topic, null, qoS, activity, RETAIN);
     }
 
     /**
      * Checks the MqttTopicPermission implies a given topic, qos and activity combination
      *
-     * @param topic    the topic to check
-     * @param qoS      the QoS to check
-     * @param activity the activity to check
+     * @param topic      the topic to check
+     * @param splitTopic the levels of the topic or <code>null</code> to match the topic without splitting it
+     * @param qoS        the QoS to check
+     * @param activity   the activity to check
      * @return <code>true</code> if the given topic, qos and activity combination is implied
      */
     public boolean implies(final String topic, final String[] splitTopic, final QoS qoS, final ACTIVITY activity) {
 
-        if (qoS == null) {
-            return false;
-        }
-
-        return implies(topic, splitTopic, QOS.from(qoS), activity);
+        return implies(topic, splitTopic, accessMask(qoS, activity));
     }
 
     /**
@@ -321,101 +388,153 @@ public class MqttTopicPermission {
      */
     public boolean implies(final String topic, final QoS qoS, final ACTIVITY activity) {
 
-        return implies(topic, StringUtils.splitPreserveAllTokens(topic, "/"), qoS, activity);
+        return implies(topic, null, qoS, activity);
     }
 
     /**
      * Checks the MqttTopicPermission implies a given topic, qos and activity combination
      *
-     * @param topic    the topic to check
-     * @param qoS      the QoS to check
-     * @param activity the activity to check
+     * @param topic      the topic to check
+     * @param splitTopic the levels of the topic or <code>null</code> to match the topic without splitting it
+     * @param qoS        the QoS to check
+     * @param activity   the activity to check
      * @return <code>true</code> if the given topic, qos and activity combination is implied
      */
     public boolean implies(final String topic, final String[] splitTopic, final QOS qoS, final ACTIVITY activity) {
 
-        if (topic == null || qoS == null || activity == null) {
-            return false;
-        }
+        return implies(topic, splitTopic, accessMask(qoS, activity));
+    }
 
-        final boolean activityImplies = getActivityImplicity(activity);
+    public boolean implies(final String topic, final QOS qoS, final ACTIVITY activity) {
 
-        if (!activityImplies) {
-            return false;
-        }
+        return implies(topic, null, qoS, activity);
+    }
 
-        final boolean qosImplies = getQosImplicity(qoS);
+    /**
+     * Checks the MqttTopicPermission implies a given parsed topic, qos, activity and retain combination.
+     * <p/>
+     * The topic is matched the same way the {@link com.hivemq.spi.security.AuthorizationEvaluator} matches topics:
+     * trailing slashes of the topic are ignored if the permission topic does not contain wildcards.
+     *
+     * @param topic    the parsed topic to check
+     * @param qoS      the QoS to check
+     * @param activity the activity to check
+     * @param retained if a retained message is published
+     * @return <code>true</code> if the given topic, qos, activity and retain combination is implied
+     */
+    public boolean implies(final ParsedTopic topic, final QoS qoS, final ACTIVITY activity, final boolean retained) {
 
-        if (!qosImplies) {
-            return false;
-        }
+        return implies(topic, accessMask(qoS, activity, retained));
+    }
 
-        return topicImplicity(topic, splitTopic);
+    /**
+     * Checks the MqttTopicPermission implies a given parsed topic, qos and activity combination.
+     * <p/>
+     * The topic is matched the same way the {@link com.hivemq.spi.security.AuthorizationEvaluator} matches topics:
+     * trailing slashes of the topic are ignored if the permission topic does not contain wildcards.
+     *
+     * @param topic    the parsed topic to check
+     * @param qoS      the QoS to check
+     * @param activity the activity to check
+     * @return <code>true</code> if the given topic, qos and activity combination is implied
+     */
+    public boolean implies(final ParsedTopic topic, final QoS qoS, final ACTIVITY activity) {
 
+        return implies(topic, accessMask(qoS, activity));
     }
 
-    public boolean implies(final String topic, final QOS qoS, final ACTIVITY activity) {
+    /**
+     * Checks if the MqttTopicPermission implies the QoS, activity and retain flag of an access mask.
+     * This only needs a single AND and does not look at the topic at all.
+     *
+     * @param accessMask the access mask created by one of the <code>accessMask</code> methods
+     * @return <code>true</code> if the access is implied
+     * @since 3.4.5
+     */
+    public boolean impliesAccess(final int accessMask) {
+        return (accessMask & deniedAccess) == 0;
+    }
 
-        return implies(topic, StringUtils.splitPreserveAllTokens(topic, "/"), qoS, activity);
+    /**
+     * Checks the MqttTopicPermission implies a given topic and access mask.
+     * <p/>
+     * The QoS, activity and retain flag are checked with {@link #impliesAccess(int)} first,
+     * the topic is only matched if they are implied.
+     *
+     * @param topic      the topic to check
+     * @param accessMask the access mask created by one of the <code>accessMask</code> methods
+     * @return <code>true</code> if the given topic and access is implied
+     * @since 3.4.5
+     */
+    public boolean implies(final String topic, final int accessMask) {
+
+        return implies(topic, null, accessMask);
     }
 
     /**
-     * Checks if the topic implies a given MqttTopicPermissions topic
+     * Checks the MqttTopicPermission implies a given topic and access mask.
+     * <p/>
+     * The QoS, activity and retain flag are checked with {@link #impliesAccess(int)} first,
+     * the topic is only matched if they are implied.
      *
-     * @param topic the topic to check
-     * @return <code>true</code> if the given MqttTopicPermissions topic is implied by the current one
+     * @param topic      the topic to check
+     * @param splitTopic the levels of the topic or <code>null</code> to match the topic without splitting it
+     * @param accessMask the access mask created by one of the <code>accessMask</code> methods
+     * @return <code>true</code> if the given topic and access is implied
+     * @since 3.4.5
      */
-    private boolean topicImplicity(final String topic, final String[] splitTopic) {
+    public boolean implies(final String topic, final String[] splitTopic, final int accessMask) {
 
-        try {
-            return topicMatcher.matches(stripedTopic, this.splitTopic, nonWildCard, endsWithWildCard, rootWildCard, topic, splitTopic);
-        } catch (InvalidTopicException e) {
+        if ((accessMask & deniedAccess) != 0 || topic == null) {
             return false;
         }
+
+        return topicImplicity(topic, splitTopic);
     }
 
     /**
-     * Checks if the MqttTopicPermission implies a given QoS
+     * Checks the MqttTopicPermission implies a given parsed topic and access mask.
+     * <p/>
+     * The QoS, activity and retain flag are checked with {@link #impliesAccess(int)} first,
+     * the topic is only matched if they are implied. The topic is matched the same way the
+     * {@link com.hivemq.spi.security.AuthorizationEvaluator} matches topics.
      *
-     * @param qos the activity to check
-     * @return <code>true</code> if the QoS level implies the given QoS
+     * @param topic      the parsed topic to check
+     * @param accessMask the access mask created by one of the <code>accessMask</code> methods
+     * @return <code>true</code> if the given topic and access is implied
+     * @since 3.4.5
      */
-    private boolean getQosImplicity(final QOS qos) {
-        if (this.getQos() == QOS.ALL) {
-            return true;
-        }
+    public boolean implies(final ParsedTopic topic, final int accessMask) {
 
-        if (qos == QOS.ALL) {
+        if ((accessMask & deniedAccess) != 0 || topic == null) {
             return false;
-        } else if (this.getQos() == QOS.ZERO_ONE) {
-            return (qos == QOS.ZERO) || (qos == QOS.ONE) || (qos == QOS.ZERO_ONE);
-        } else if (this.getQos() == QOS.ONE_TWO) {
-            return (qos == QOS.ONE) || (qos == QOS.TWO) || (qos == QOS.ONE_TWO);
-        } else if (this.getQos() == QOS.ZERO_TWO) {
-            return (qos == QOS.ZERO) || (qos == QOS.TWO) || (qos == QOS.ZERO_TWO);
         }
-        return this.getQos() == qos;
+
+        final int compareLength = topic.getTopic().length() > 1 ? topic.getStrippedLength() : topic.getTopic().length();
+
+        return PermissionTopicMatcher.matches(parsedTopic, stripedTopic.length(), parsedTopic.getLevelCount(),
+                nonWildCard, endsWithWildCard, rootWildCard, topic, compareLength, topic.getLevelCount());
     }
 
     /**
-     * Checks if an activity implies another activity
+     * Checks if the topic implies a given MqttTopicPermissions topic.
+     * If the topic was not split by the caller, it is matched level by level without splitting it.
      *
-     * @param activity the activity to check
-     * @return <code>true</code> if the permission activity imply the other permission activity
+     * @param topic the topic to check
+     * @return <code>true</code> if the given MqttTopicPermissions topic is implied by the current one
      */
-    private boolean getActivityImplicity(final ACTIVITY activity) {
-        if (this.activity == ACTIVITY.ALL) {
-            return true;
+    private boolean topicImplicity(final String topic, final String[] splitTopic) {
+
+        if (splitTopic == null) {
+            return PermissionTopicMatcher.matchesInPlace(this.topic, stripedTopic.length(), this.topic.length(),
+                    nonWildCard, endsWithWildCard, rootWildCard, topic, topic.length(), topic.length());
         }
 
-        if ((activity == ACTIVITY.SUBSCRIBE) && (this.activity == ACTIVITY.PUBLISH)) {
-            return false;
-        } else if ((activity == ACTIVITY.PUBLISH) && (this.activity == ACTIVITY.SUBSCRIBE)) {
-            return false;
-        } else if (activity == ACTIVITY.ALL && this.getActivity() != ACTIVITY.ALL) {
+        try {
+            return topicMatcher.matches(stripedTopic, this.splitTopic, nonWildCard, endsWithWildCard, rootWildCard, topic, splitTopic);
+        } catch (InvalidTopicException e) {
             return false;
         }
-        return true;
     }
 
     public String getTopic() {
@@ -437,5 +556,13 @@ public class MqttTopicPermission {
     public RETAIN getPublishRetain() {
         return publishRetain;
     }
+
+    /**
+     * @return the parsed topic of this permission
+     * @since 3.4.5
+     */
+    public ParsedTopic getParsedTopic() {
+        return parsedTopic;
+    }
 }
 
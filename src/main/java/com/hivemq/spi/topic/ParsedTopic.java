@@ -0,0 +1,260 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.topic;
+
+import com.google.common.collect.ImmutableList;
+import com.hivemq.spi.annotations.Immutable;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.ThreadSafe;
+
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A topic which was split into its levels once, so it can be matched against many
+ * subscriptions or {@link MqttTopicPermission}s without tokenizing it again.
+ * <p/>
+ * The levels are not copied out of the topic, instead the start offsets of the levels are stored.
+ * Levels are separated by <code>/</code>, empty levels are preserved and an empty topic has no levels at all.
+ * <p/>
+ * Use {@link com.hivemq.spi.message.PUBLISH#getParsedTopic()} or {@link com.hivemq.spi.message.Topic#getParsedTopic()}
+ * to get the parsed topic of a message, it is only parsed once per message.
+ *
+ * @since 3.4.5
+ */
+@Immutable
+@ThreadSafe
+public final class ParsedTopic {
+
+    private final String topic;
+
+    /**
+     * start offset of every level plus the offset after the end of the topic (topic length + 1)
+     */
+    private final int[] levelOffsets;
+    private final int levelCount;
+    private final boolean wildcard;
+    private final boolean multiLevelWildcard;
+    private final int strippedLength;
+    private final int hash;
+
+    /**
+     * lazily created, the racy initialization is fine because the list is immutable
+     */
+    private List<String> levels;
+
+    private ParsedTopic(final String topic) {
+        this.topic = topic;
+        this.hash = topic.hashCode();
+
+        final int length = topic.length();
+        int separators = 0;
+        boolean wildcard = false;
+        boolean multiLevelWildcard = false;
+        for (int i = 0; i < length; i++) {
+            final char c = topic.charAt(i);
+            if (c == '/') {
+                separators++;
+            } else if (c == '#') {
+                wildcard = true;
+                multiLevelWildcard = true;
+            } else if (c == '+') {
+                wildcard = true;
+            }
+        }
+        this.wildcard = wildcard;
+        this.multiLevelWildcard = multiLevelWildcard;
+
+        levelCount = length == 0 ? 0 : separators + 1;
+        levelOffsets = new int[levelCount + 1];
+        int level = 1;
+        for (int i = 0; i < length; i++) {
+            if (topic.charAt(i) == '/') {
+                levelOffsets[level++] = i + 1;
+            }
+        }
+        levelOffsets[levelCount] = length + 1;
+
+        int strippedLength = length;
+        while (strippedLength > 0 && topic.charAt(strippedLength - 1) == '/') {
+            strippedLength--;
+        }
+        this.strippedLength = strippedLength;
+    }
+
+    /**
+     * Parses a topic.
+     *
+     * @param topic the topic, may contain wildcards
+     * @return the parsed topic
+     * @throws NullPointerException if the topic is <code>null</code>
+     */
+    @NotNull
+    public static ParsedTopic of(@NotNull final String topic) {
+        checkNotNull(topic, "Topic must not be null");
+        return new ParsedTopic(topic);
+    }
+
+    /**
+     * @return the original topic
+     */
+    @NotNull
+    public String getTopic() {
+        return topic;
+    }
+
+    /**
+     * @return the number of levels of the topic
+     */
+    public int getLevelCount() {
+        return levelCount;
+    }
+
+    /**
+     * @param index the index of the level
+     * @return the offset of the first character of the level in the topic
+     * @throws IndexOutOfBoundsException if the index is not a valid level index
+     */
+    public int getLevelStart(final int index) {
+        checkElementIndex(index, levelCount);
+        return levelOffsets[index];
+    }
+
+    /**
+     * @param index the index of the level
+     * @return the offset after the last character of the level in the topic
+     * @throws IndexOutOfBoundsException if the index is not a valid level index
+     */
+    public int getLevelEnd(final int index) {
+        checkElementIndex(index, levelCount);
+        return levelOffsets[index + 1] - 1;
+    }
+
+    /**
+     * Returns a single level of the topic. Note that the level is copied out of the topic,
+     * use {@link #getLevelStart(int)} and {@link #getLevelEnd(int)} if you want to avoid that.
+     *
+     * @param index the index of the level
+     * @return the level
+     * @throws IndexOutOfBoundsException if the index is not a valid level index
+     */
+    @NotNull
+    public String getLevel(final int index) {
+        checkElementIndex(index, levelCount);
+        return topic.substring(levelOffsets[index], levelOffsets[index + 1] - 1);
+    }
+
+    /**
+     * Returns all levels of the topic. The levels are copied out of the topic on the first call
+     * and are shared by all following calls.
+     *
+     * @return an immutable list of the levels of the topic
+     */
+    @NotNull
+    public List<String> getLevels() {
+        List<String> levels = this.levels;
+        if (levels == null) {
+            final ImmutableList.Builder<String> builder = ImmutableList.builder();
+            for (int i = 0; i < levelCount; i++) {
+                builder.add(getLevel(i));
+            }
+            levels = builder.build();
+            this.levels = levels;
+        }
+        return levels;
+    }
+
+    /**
+     * @return <code>true</code> if the topic contains a <code>+</code> or a <code>#</code>
+     */
+    public boolean containsWildcard() {
+        return wildcard;
+    }
+
+    /**
+     * @return <code>true</code> if the topic contains a <code>#</code>
+     */
+    boolean containsMultiLevelWildcard() {
+        return multiLevelWildcard;
+    }
+
+    /**
+     * @return the length of the topic without trailing slashes
+     */
+    int getStrippedLength() {
+        return strippedLength;
+    }
+
+    /**
+     * @return the number of levels of the topic without trailing slashes
+     */
+    int getStrippedLevelCount() {
+        if (strippedLength == topic.length()) {
+            return levelCount;
+        }
+        int count = 0;
+        while (count < levelCount && levelOffsets[count] < strippedLength) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Checks if a level consists of a single character only.
+     */
+    boolean isLevel(final int index, final char c) {
+        return levelOffsets[index + 1] - levelOffsets[index] == 2 && topic.charAt(levelOffsets[index]) == c;
+    }
+
+    /**
+     * Compares a level of this topic with a level of another topic without copying them.
+     */
+    boolean levelEquals(final int index, final ParsedTopic other, final int otherIndex) {
+        final int start = levelOffsets[index];
+        final int length = levelOffsets[index + 1] - start;
+        final int otherStart = other.levelOffsets[otherIndex];
+        if (length != other.levelOffsets[otherIndex + 1] - otherStart) {
+            return false;
+        }
+        return topic.regionMatches(start, other.topic, otherStart, length - 1);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final ParsedTopic that = (ParsedTopic) o;
+
+        return hash == that.hash && topic.equals(that.topic);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "ParsedTopic{" +
+                "topic='" + topic + '\'' +
+                ", levels=" + levelCount +
+                '}';
+    }
+}
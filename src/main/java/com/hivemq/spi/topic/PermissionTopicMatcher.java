@@ -17,7 +17,6 @@
 package com.hivemq.spi.topic;
 
 import com.hivemq.spi.topic.exception.InvalidTopicException;
-import org.apache.commons.lang3.StringUtils;
 
 import static java.lang.Math.min;
 
@@ -36,15 +35,71 @@ public class PermissionTopicMatcher implements TopicMatcher {
 
     @Override
     public boolean matches(String permissionTopic, String actualTopic) throws InvalidTopicException {
-        final String stripedPermissionTopic = StringUtils.stripEnd(permissionTopic, "/");
-        final String[] splitPermissionTopic = StringUtils.splitPreserveAllTokens(stripedPermissionTopic, "/");
-        final boolean nonWildCard = StringUtils.containsNone(stripedPermissionTopic, "#+");
-        final boolean rootWildCard = stripedPermissionTopic.contains("#");
-        final boolean endsWithWildCard = StringUtils.endsWith(stripedPermissionTopic, "/#");
-
-        final String stripedActualTopic = StringUtils.stripEnd(actualTopic, "/");
-        final String[] splitActualTopic = StringUtils.splitPreserveAllTokens(stripedActualTopic, "/");
-        return matches(stripedPermissionTopic, splitPermissionTopic, nonWildCard, endsWithWildCard, rootWildCard, stripedActualTopic, splitActualTopic);
+        return matchesInPlace(permissionTopic, actualTopic);
+    }
+
+    /**
+     * Evaluates if a topic matches a permission topic which also can contain wildcards. The same rules as
+     * for {@link #matches(String, String)} apply.
+     * <p/>
+     * In contrast to the tokenizing methods of this matcher, both topics are walked level by level directly on
+     * the given {@link CharSequence}s, so no intermediate Strings or arrays are allocated.
+     *
+     * @param permissionTopic the permission topic. May contain wildcards
+     * @param actualTopic     the actual topic
+     * @return <code>true</code> if the actual topic matches the permission topic, <code>false</code> otherwise
+     */
+    public boolean matchesInPlace(final CharSequence permissionTopic, final CharSequence actualTopic) {
+        if (actualTopic == null) {
+            return false;
+        }
+
+        final int stripedPermissionLength = stripedLength(permissionTopic);
+        boolean nonWildCard = true;
+        boolean rootWildCard = false;
+        for (int i = 0; i < stripedPermissionLength; i++) {
+            final char c = permissionTopic.charAt(i);
+            if (c == '#') {
+                nonWildCard = false;
+                rootWildCard = true;
+            } else if (c == '+') {
+                nonWildCard = false;
+            }
+        }
+        final boolean endsWithWildCard = stripedPermissionLength > 1
+                && permissionTopic.charAt(stripedPermissionLength - 1) == '#'
+                && permissionTopic.charAt(stripedPermissionLength - 2) == '/';
+
+        final int stripedActualLength = stripedLength(actualTopic);
+
+        return matchesInPlace(permissionTopic, stripedPermissionLength, stripedPermissionLength, nonWildCard, endsWithWildCard, rootWildCard,
+                actualTopic, stripedActualLength, stripedActualLength);
+    }
+
+    /**
+     * Evaluates if a parsed topic matches a parsed permission topic which also can contain wildcards. The same rules as
+     * for {@link #matches(String, String)} apply.
+     * <p/>
+     * The levels are compared directly on the parsed topics, so the topics are not tokenized again.
+     *
+     * @param permissionTopic the parsed permission topic. May contain wildcards
+     * @param actualTopic     the parsed actual topic
+     * @return <code>true</code> if the actual topic matches the permission topic, <code>false</code> otherwise
+     */
+    public boolean matches(final ParsedTopic permissionTopic, final ParsedTopic actualTopic) {
+        if (actualTopic == null) {
+            return false;
+        }
+
+        final int stripedPermissionLength = permissionTopic.getStrippedLength();
+        final String permission = permissionTopic.getTopic();
+        final boolean endsWithWildCard = stripedPermissionLength > 1
+                && permission.charAt(stripedPermissionLength - 1) == '#'
+                && permission.charAt(stripedPermissionLength - 2) == '/';
+
+        return matches(permissionTopic, stripedPermissionLength, permissionTopic.getStrippedLevelCount(),
+                !permissionTopic.containsWildcard(), endsWithWildCard, permissionTopic.containsMultiLevelWildcard(),
+                actualTopic, actualTopic.getStrippedLength(), actualTopic.getStrippedLevelCount());
     }
 
     public boolean matches(final String permissionTopic, final String[] splitPermissionTopic, boolean nonWildCard, boolean endsWithWildCard, boolean rootWildCard, final String actualTopic, final String[] splitActualTopic) throws InvalidTopicException {
@@ -86,4 +141,135 @@ public class PermissionTopicMatcher implements TopicMatcher {
         return splitPermissionTopic.length == splitActualTopic.length ||
                 (splitPermissionTopic.length - splitActualTopic.length == 1 && (splitPermissionTopic[splitPermissionTopic.length - 1].equals("#")));
     }
+
+    /**
+     * Matches the topics level by level without tokenizing them.
+     * <p/>
+     * The compared lengths are used for the comparison of topics without wildcards, the level lengths
+     * define which part of the topics is split into levels. This allows to match with the same semantics
+     * as the tokenizing methods, no matter if the trailing slashes of the topics were stripped before splitting them.
+     */
+    static boolean matchesInPlace(final CharSequence permissionTopic, final int permissionCompareLength, final int permissionLevelsLength,
+                                  final boolean nonWildCard, final boolean endsWithWildCard, final boolean rootWildCard,
+                                  final CharSequence actualTopic, final int actualCompareLength, final int actualLevelsLength) {
+        if (nonWildCard) {
+            return permissionCompareLength == actualCompareLength
+                    && regionMatches(permissionTopic, 0, actualTopic, 0, permissionCompareLength);
+        }
+
+        if (rootWildCard) {
+            if (!endsWithWildCard && permissionCompareLength > 1) {
+                return false;
+            }
+        }
+
+        //An empty topic has no levels at all, otherwise every slash starts a new (possibly empty) level
+        int permissionPosition = permissionLevelsLength > 0 ? 0 : 1;
+        int actualPosition = actualLevelsLength > 0 ? 0 : 1;
+
+        while (permissionPosition <= permissionLevelsLength && actualPosition <= actualLevelsLength) {
+            final int permissionLevelEnd = levelEnd(permissionTopic, permissionPosition, permissionLevelsLength);
+            final int actualLevelEnd = levelEnd(actualTopic, actualPosition, actualLevelsLength);
+            final int permissionLevelLength = permissionLevelEnd - permissionPosition;
+
+            if (permissionLevelLength != actualLevelEnd - actualPosition
+                    || !regionMatches(permissionTopic, permissionPosition, actualTopic, actualPosition, permissionLevelLength)) {
+
+                if (isLevel(permissionTopic, permissionPosition, permissionLevelLength, '#')) {
+                    return true;
+                } else if (isLevel(permissionTopic, permissionPosition, permissionLevelLength, '+')) {
+                    //Matches Topic Level wildcard, so we can just ignore
+
+                } else {
+                    //Does not match a wildcard and is not equal to the topic token
+                    return false;
+                }
+            }
+            permissionPosition = permissionLevelEnd + 1;
+            actualPosition = actualLevelEnd + 1;
+        }
+
+        final boolean permissionLevelsLeft = permissionPosition <= permissionLevelsLength;
+        final boolean actualLevelsLeft = actualPosition <= actualLevelsLength;
+
+        //If the level count is equal or the only remaining permission level is a wildcard,
+        //everything is alright.
+        if (!permissionLevelsLeft) {
+            return !actualLevelsLeft;
+        }
+        return !actualLevelsLeft && isLevel(permissionTopic, permissionPosition, permissionLevelsLength - permissionPosition, '#');
+    }
+
+    private static int stripedLength(final CharSequence topic) {
+        int length = topic.length();
+        while (length > 0 && topic.charAt(length - 1) == '/') {
+            length--;
+        }
+        return length;
+    }
+
+    private static int levelEnd(final CharSequence topic, final int start, final int length) {
+        for (int i = start; i < length; i++) {
+            if (topic.charAt(i) == '/') {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static boolean isLevel(final CharSequence topic, final int start, final int levelLength, final char wildcard) {
+        return levelLength == 1 && topic.charAt(start) == wildcard;
+    }
+
+    private static boolean regionMatches(final CharSequence first, final int firstStart,
+                                         final CharSequence second, final int secondStart, final int length) {
+        for (int i = 0; i < length; i++) {
+            if (first.charAt(firstStart + i) != second.charAt(secondStart + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Matches the parsed topics level by level.
+     * <p/>
+     * The compared lengths are used for the comparison of topics without wildcards, the level counts define
+     * how many levels of the topics are matched. This allows to match with the same semantics as the
+     * tokenizing methods, no matter if the trailing slashes of the topics were stripped before splitting them.
+     */
+    static boolean matches(final ParsedTopic permissionTopic, final int permissionCompareLength, final int permissionLevelCount,
+                           final boolean nonWildCard, final boolean endsWithWildCard, final boolean rootWildCard,
+                           final ParsedTopic actualTopic, final int actualCompareLength, final int actualLevelCount) {
+        if (nonWildCard) {
+            return permissionCompareLength == actualCompareLength
+                    && permissionTopic.getTopic().regionMatches(0, actualTopic.getTopic(), 0, permissionCompareLength);
+        }
+
+        if (rootWildCard) {
+            if (!endsWithWildCard && permissionCompareLength > 1) {
+                return false;
+            }
+        }
+
+        final int smallest = min(permissionLevelCount, actualLevelCount);
+
+        for (int i = 0; i < smallest; i++) {
+            if (!permissionTopic.levelEquals(i, actualTopic, i)) {
+                if (permissionTopic.isLevel(i, '#')) {
+                    return true;
+                } else if (permissionTopic.isLevel(i, '+')) {
+                    //Matches Topic Level wildcard, so we can just ignore
+
+                } else {
+                    //Does not match a wildcard and is not equal to the topic token
+                    return false;
+                }
+            }
+        }
+        //If the level count is equal or the permission level with the number x+1 (where x is the topic level count) is a wildcard,
+        //everything is alright.
+        return permissionLevelCount == actualLevelCount ||
+                (permissionLevelCount - actualLevelCount == 1 && permissionTopic.isLevel(permissionLevelCount - 1, '#'));
+    }
 }
@@ -0,0 +1,293 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.topic;
+
+import com.google.common.collect.ImmutableSet;
+import com.hivemq.spi.annotations.NotNull;
+import com.hivemq.spi.annotations.ThreadSafe;
+import com.hivemq.spi.topic.exception.InvalidTopicException;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * A tree of topic filters by their topic levels, which finds all values whose topic filters match a topic
+ * by walking the levels of the topic once, independent of the number of topic filters.
+ * <p/>
+ * The standard MQTT topic matching rules apply: <code>+</code> matches exactly one level, <code>#</code> matches
+ * the parent level and any number of child levels, and wildcards at the first level don't match topics
+ * starting with <code>$</code>.
+ * <p/>
+ * Lookups are lock free, so the trie is made for many lookups and rare changes.
+ *
+ * @param <T> the type of the values
+ * @since 3.4.5
+ */
+@ThreadSafe
+public class TopicFilterTrie<T> {
+
+    private static final String SINGLE_LEVEL_WILDCARD = "+";
+    private static final String MULTI_LEVEL_WILDCARD = "#";
+
+    private final Node<T> root = new Node<>();
+
+    /**
+     * Adds a value for a topic filter.
+     *
+     * @param topicFilter the topic filter, may contain wildcards
+     * @param value       the value
+     * @throws NullPointerException  if the topic filter or the value is <code>null</code>
+     * @throws InvalidTopicException if the topic filter is empty or contains invalid wildcards
+     */
+    public synchronized void add(@NotNull final String topicFilter, @NotNull final T value) {
+        checkNotNull(value, "Value must not be null");
+        final ParsedTopic parsedTopic = parse(topicFilter);
+
+        Node<T> node = root;
+        for (int i = 0; i < parsedTopic.getLevelCount(); i++) {
+            final String level = parsedTopic.getLevel(i);
+            Node<T> child = node.children.get(level);
+            if (child == null) {
+                child = new Node<>();
+                node.children.put(level, child);
+            }
+            node = child;
+        }
+        node.values.add(value);
+    }
+
+    /**
+     * Removes a value for a topic filter.
+     *
+     * @param topicFilter the topic filter
+     * @param value       the value
+     * @return <code>true</code> if the value was added for the topic filter before
+     * @throws NullPointerException  if the topic filter or the value is <code>null</code>
+     * @throws InvalidTopicException if the topic filter is empty or contains invalid wildcards
+     */
+    public synchronized boolean remove(@NotNull final String topicFilter, @NotNull final T value) {
+        checkNotNull(value, "Value must not be null");
+        final ParsedTopic parsedTopic = parse(topicFilter);
+
+        Node<T> node = root;
+        for (int i = 0; i < parsedTopic.getLevelCount() && node != null; i++) {
+            node = node.children.get(parsedTopic.getLevel(i));
+        }
+        if (node == null || !node.values.remove(value)) {
+            return false;
+        }
+        prune(root);
+        return true;
+    }
+
+    /**
+     * Removes a value for all its topic filters.
+     *
+     * @param value the value
+     * @return <code>true</code> if the value was added for any topic filter before
+     * @throws NullPointerException if the value is <code>null</code>
+     */
+    public synchronized boolean removeAll(@NotNull final T value) {
+        checkNotNull(value, "Value must not be null");
+        final boolean removed = removeAll(root, value);
+        prune(root);
+        return removed;
+    }
+
+    /**
+     * Removes all topic filters and values.
+     */
+    public synchronized void clear() {
+        root.children.clear();
+        root.values.clear();
+    }
+
+    /**
+     * Returns all values with at least one topic filter which matches the topic. A value is only contained
+     * once, even if more than one of its topic filters match.
+     *
+     * @param topic the topic, must not contain wildcards
+     * @return an immutable set of the matching values, in the order of the levels of the topic filters
+     * @throws NullPointerException if the topic is <code>null</code>
+     */
+    @NotNull
+    public Set<T> getMatching(@NotNull final String topic) {
+        checkNotNull(topic, "Topic must not be null");
+        if (topic.isEmpty() || root.children.isEmpty()) {
+            return ImmutableSet.of();
+        }
+        return getMatching(ParsedTopic.of(topic));
+    }
+
+    /**
+     * Returns all values with at least one topic filter which matches the already parsed topic, e.g.
+     * {@link com.hivemq.spi.message.PUBLISH#getParsedTopic()}. The topic is not parsed again.
+     *
+     * @param topic the parsed topic, must not contain wildcards
+     * @return an immutable set of the matching values, in the order of the levels of the topic filters
+     * @throws NullPointerException if the topic is <code>null</code>
+     */
+    @NotNull
+    public Set<T> getMatching(@NotNull final ParsedTopic topic) {
+        checkNotNull(topic, "Topic must not be null");
+        if (topic.getLevelCount() == 0 || root.children.isEmpty()) {
+            return ImmutableSet.of();
+        }
+        final Set<T> matching = new LinkedHashSet<>();
+        collect(root, topic.getLevels(), 0, matching);
+        return matching.isEmpty() ? ImmutableSet.<T>of() : Collections.unmodifiableSet(matching);
+    }
+
+    /**
+     * @param topic the topic, must not contain wildcards
+     * @return <code>true</code> if at least one topic filter matches the topic
+     * @throws NullPointerException if the topic is <code>null</code>
+     */
+    public boolean matches(@NotNull final String topic) {
+        checkNotNull(topic, "Topic must not be null");
+        if (topic.isEmpty() || root.children.isEmpty()) {
+            return false;
+        }
+        return matches(ParsedTopic.of(topic));
+    }
+
+    /**
+     * Checks if at least one topic filter matches the already parsed topic. The lookup stops at the first match.
+     *
+     * @param topic the parsed topic, must not contain wildcards
+     * @return <code>true</code> if at least one topic filter matches the topic
+     * @throws NullPointerException if the topic is <code>null</code>
+     */
+    public boolean matches(@NotNull final ParsedTopic topic) {
+        checkNotNull(topic, "Topic must not be null");
+        if (topic.getLevelCount() == 0 || root.children.isEmpty()) {
+            return false;
+        }
+        return matches(root, topic.getLevels(), 0);
+    }
+
+    /**
+     * @return <code>true</code> if no topic filter was added
+     */
+    public boolean isEmpty() {
+        return root.children.isEmpty();
+    }
+
+    private void collect(final Node<T> node, final List<String> levels, final int index, final Set<T> matching) {
+        final boolean wildcardsAllowed = index > 0 || !levels.get(0).startsWith("$");
+
+        if (wildcardsAllowed) {
+            final Node<T> multiLevel = node.children.get(MULTI_LEVEL_WILDCARD);
+            if (multiLevel != null) {
+                matching.addAll(multiLevel.values);
+            }
+        }
+        if (index == levels.size()) {
+            matching.addAll(node.values);
+            return;
+        }
+        final Node<T> exact = node.children.get(levels.get(index));
+        if (exact != null) {
+            collect(exact, levels, index + 1, matching);
+        }
+        if (wildcardsAllowed) {
+            final Node<T> singleLevel = node.children.get(SINGLE_LEVEL_WILDCARD);
+            if (singleLevel != null) {
+                collect(singleLevel, levels, index + 1, matching);
+            }
+        }
+    }
+
+    private boolean matches(final Node<T> node, final List<String> levels, final int index) {
+        final boolean wildcardsAllowed = index > 0 || !levels.get(0).startsWith("$");
+
+        if (wildcardsAllowed) {
+            final Node<T> multiLevel = node.children.get(MULTI_LEVEL_WILDCARD);
+            if (multiLevel != null && !multiLevel.values.isEmpty()) {
+                return true;
+            }
+        }
+        if (index == levels.size()) {
+            return !node.values.isEmpty();
+        }
+        final Node<T> exact = node.children.get(levels.get(index));
+        if (exact != null && matches(exact, levels, index + 1)) {
+            return true;
+        }
+        if (wildcardsAllowed) {
+            final Node<T> singleLevel = node.children.get(SINGLE_LEVEL_WILDCARD);
+            if (singleLevel != null && matches(singleLevel, levels, index + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean removeAll(final Node<T> node, final T value) {
+        boolean removed = node.values.remove(value);
+        for (final Node<T> child : node.children.values()) {
+            removed |= removeAll(child, value);
+        }
+        return removed;
+    }
+
+    /**
+     * @return <code>true</code> if the node has no values and no children left
+     */
+    private boolean prune(final Node<T> node) {
+        final Iterator<Map.Entry<String, Node<T>>> iterator = node.children.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (prune(iterator.next().getValue())) {
+                iterator.remove();
+            }
+        }
+        return node.children.isEmpty() && node.values.isEmpty();
+    }
+
+    private static ParsedTopic parse(final String topicFilter) {
+        checkNotNull(topicFilter, "Topic filter must not be null");
+        if (topicFilter.isEmpty()) {
+            throw new InvalidTopicException("Topic filter must not be empty");
+        }
+        final ParsedTopic parsedTopic = ParsedTopic.of(topicFilter);
+        final int levelCount = parsedTopic.getLevelCount();
+        for (int i = 0; i < levelCount; i++) {
+            final String level = parsedTopic.getLevel(i);
+            if (level.contains(MULTI_LEVEL_WILDCARD) && (!level.equals(MULTI_LEVEL_WILDCARD) || i != levelCount - 1)) {
+                throw new InvalidTopicException("Multi level wildcard must be the last level of topic filter " + topicFilter);
+            }
+            if (level.contains(SINGLE_LEVEL_WILDCARD) && !level.equals(SINGLE_LEVEL_WILDCARD)) {
+                throw new InvalidTopicException("Single level wildcard must occupy a whole level of topic filter " + topicFilter);
+            }
+        }
+        return parsedTopic;
+    }
+
+    private static class Node<T> {
+
+        private final Map<String, Node<T>> children = new ConcurrentHashMap<>();
+        private final Set<T> values = new CopyOnWriteArraySet<>();
+    }
+}
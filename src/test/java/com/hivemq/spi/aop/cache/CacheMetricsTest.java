@@ -0,0 +1,63 @@
+package com.hivemq.spi.aop.cache;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class CacheMetricsTest {
+
+    @Test
+    public void test_name_of_method() throws Exception {
+        assertEquals("com.hivemq.spi.aop.cache.CacheMetricsTest.CachedMethods.unnamed",
+                CacheMetrics.name(CachedMethods.class.getMethod("unnamed", String.class)));
+        assertEquals("permissions",
+                CacheMetrics.name(CachedMethods.class.getMethod("named", String.class)));
+    }
+
+    @Test
+    public void test_metric_names() throws Exception {
+        assertEquals("com.hivemq.plugin.cache.permissions.hit-count", CacheMetrics.hitCount("permissions").name());
+        assertEquals("com.hivemq.plugin.cache.permissions.miss-count", CacheMetrics.missCount("permissions").name());
+        assertEquals("com.hivemq.plugin.cache.permissions.hit-rate", CacheMetrics.hitRate("permissions").name());
+        assertEquals("com.hivemq.plugin.cache.permissions.eviction-count", CacheMetrics.evictionCount("permissions").name());
+        assertEquals("com.hivemq.plugin.cache.permissions.size", CacheMetrics.size("permissions").name());
+    }
+
+    @Test
+    public void test_default_attributes() throws Exception {
+        final Cached cached = CachedMethods.class.getMethod("unnamed", String.class).getAnnotation(Cached.class);
+
+        assertEquals(-1, cached.maximumSize());
+        assertEquals(-1, cached.maximumWeight());
+        assertEquals(-1, cached.refreshAfterWrite());
+        assertEquals(CacheWeigher.SingleWeight.class, cached.weigher());
+        assertEquals(CacheKeyStrategy.AllArguments.class, cached.keyStrategy());
+        assertFalse(cached.recordStats());
+    }
+
+    @Test
+    public void test_key_strategies() throws Exception {
+        final Object[] arguments = {"client", 1};
+
+        assertEquals(Arrays.<Object>asList("client", 1), new CacheKeyStrategy.AllArguments().key(arguments));
+        assertEquals(Collections.singletonList("client"), new CacheKeyStrategy.FirstArgument().key(arguments));
+        assertEquals(Collections.emptyList(), new CacheKeyStrategy.FirstArgument().key(new Object[0]));
+        assertEquals(1, new CacheWeigher.SingleWeight().weigh("client", "value"));
+    }
+
+    public static class CachedMethods {
+
+        @Cached(timeToLive = 1000)
+        public String unnamed(final String clientId) {
+            return clientId;
+        }
+
+        @Cached(timeToLive = 1000, maximumSize = 10, recordStats = true, name = "permissions")
+        public String named(final String clientId) {
+            return clientId;
+        }
+    }
+}
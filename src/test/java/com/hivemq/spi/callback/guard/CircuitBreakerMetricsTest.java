@@ -0,0 +1,49 @@
+package com.hivemq.spi.callback.guard;
+
+import com.hivemq.spi.callback.Callback;
+import com.hivemq.spi.metrics.HiveMQMetrics;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CircuitBreakerMetricsTest {
+
+    private final CallbackGuard unnamed = new CallbackGuard.Builder(CallbackGuard.Fallback.DENY).build();
+
+    @Test
+    public void test_name_defaults_to_class_name() throws Exception {
+        assertEquals(TestCallback.class.getCanonicalName(), CircuitBreakerMetrics.name(new TestCallback(), unnamed));
+    }
+
+    @Test
+    public void test_name_of_callback_guard() throws Exception {
+        final CallbackGuard named = new CallbackGuard.Builder(CallbackGuard.Fallback.DENY).name("ldap-primary").build();
+
+        assertEquals("ldap-primary", CircuitBreakerMetrics.name(new TestCallback(), named));
+        assertEquals(HiveMQMetrics.PLUGIN_CIRCUIT_BREAKER_PREFIX + ".ldap-primary.state",
+                CircuitBreakerMetrics.state("ldap-primary").name());
+    }
+
+    @Test
+    public void test_instances_of_same_class_get_unique_names() throws Exception {
+        final String name = CircuitBreakerMetrics.name(new TestCallback(), unnamed);
+
+        assertEquals(name, CircuitBreakerMetrics.uniqueName(name, 1));
+        assertEquals(name + "-2", CircuitBreakerMetrics.uniqueName(name, 2));
+        assertNotEquals(CircuitBreakerMetrics.state(CircuitBreakerMetrics.uniqueName(name, 1)).name(),
+                CircuitBreakerMetrics.state(CircuitBreakerMetrics.uniqueName(name, 2)).name());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_instance_below_one() throws Exception {
+        CircuitBreakerMetrics.uniqueName("name", 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_empty_name() throws Exception {
+        new CallbackGuard.Builder(CallbackGuard.Fallback.DENY).name("");
+    }
+
+    private static class TestCallback implements Callback {
+    }
+}
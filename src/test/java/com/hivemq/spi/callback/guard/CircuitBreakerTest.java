@@ -0,0 +1,175 @@
+package com.hivemq.spi.callback.guard;
+
+import com.google.common.base.Ticker;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hivemq.spi.callback.guard.CircuitBreaker.State.*;
+import static org.junit.Assert.*;
+
+public class CircuitBreakerTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private CircuitBreaker circuitBreaker;
+
+    @Before
+    public void setUp() throws Exception {
+        final CallbackGuard callbackGuard = new CallbackGuard.Builder(CallbackGuard.Fallback.DENY)
+                .deadline(100, TimeUnit.MILLISECONDS)
+                .failureThreshold(3)
+                .openDuration(10, TimeUnit.SECONDS)
+                .build();
+        circuitBreaker = new CircuitBreaker(callbackGuard, new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        });
+    }
+
+    @Test
+    public void test_opens_after_consecutive_slow_calls() throws Exception {
+        final long slow = TimeUnit.MILLISECONDS.toNanos(200);
+
+        circuitBreaker.onSuccess(circuitBreaker.tryAcquire(), slow);
+        circuitBreaker.onSuccess(circuitBreaker.tryAcquire(), slow);
+        assertEquals(CLOSED, circuitBreaker.getState());
+
+        circuitBreaker.onSuccess(circuitBreaker.tryAcquire(), slow);
+        assertEquals(OPEN, circuitBreaker.getState());
+        assertEquals(CircuitBreaker.NO_PERMIT, circuitBreaker.tryAcquire());
+        assertEquals(1, circuitBreaker.getFallbackCount());
+        assertEquals(1, circuitBreaker.getOpenCount());
+    }
+
+    @Test
+    public void test_fast_call_resets_failures() throws Exception {
+        circuitBreaker.onFailure(circuitBreaker.tryAcquire());
+        circuitBreaker.onFailure(circuitBreaker.tryAcquire());
+        circuitBreaker.onSuccess(circuitBreaker.tryAcquire(), TimeUnit.MILLISECONDS.toNanos(10));
+        circuitBreaker.onFailure(circuitBreaker.tryAcquire());
+        circuitBreaker.onFailure(circuitBreaker.tryAcquire());
+
+        assertEquals(CLOSED, circuitBreaker.getState());
+        assertNotEquals(CircuitBreaker.NO_PERMIT, circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void test_half_open_allows_single_trial_call() throws Exception {
+        open();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        final long trial = circuitBreaker.tryAcquire();
+        assertNotEquals(CircuitBreaker.NO_PERMIT, trial);
+        assertEquals(HALF_OPEN, circuitBreaker.getState());
+        assertEquals(CircuitBreaker.NO_PERMIT, circuitBreaker.tryAcquire());
+
+        circuitBreaker.onSuccess(trial, TimeUnit.MILLISECONDS.toNanos(10));
+        assertEquals(CLOSED, circuitBreaker.getState());
+        assertNotEquals(CircuitBreaker.NO_PERMIT, circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void test_failed_trial_call_opens_again() throws Exception {
+        open();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        circuitBreaker.onFailure(circuitBreaker.tryAcquire());
+
+        assertEquals(OPEN, circuitBreaker.getState());
+        assertEquals(2, circuitBreaker.getOpenCount());
+        assertEquals(CircuitBreaker.NO_PERMIT, circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void test_late_success_does_not_close_open_breaker() throws Exception {
+        final long late = circuitBreaker.tryAcquire();
+        open();
+
+        circuitBreaker.onSuccess(late, TimeUnit.MILLISECONDS.toNanos(10));
+
+        assertEquals(OPEN, circuitBreaker.getState());
+        assertEquals(CircuitBreaker.NO_PERMIT, circuitBreaker.tryAcquire());
+    }
+
+    @Test
+    public void test_late_success_does_not_finish_trial_call() throws Exception {
+        final long late = circuitBreaker.tryAcquire();
+        open();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        final long trial = circuitBreaker.tryAcquire();
+
+        circuitBreaker.onSuccess(late, TimeUnit.MILLISECONDS.toNanos(10));
+
+        assertEquals(HALF_OPEN, circuitBreaker.getState());
+        assertEquals(CircuitBreaker.NO_PERMIT, circuitBreaker.tryAcquire());
+
+        circuitBreaker.onFailure(trial);
+        assertEquals(OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    public void test_concurrent_late_successes_do_not_close_open_breaker() throws Exception {
+        final int threads = 8;
+        final long[] permits = new long[threads];
+        for (int i = 0; i < threads; i++) {
+            permits[i] = circuitBreaker.tryAcquire();
+        }
+        open();
+
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            final long permit = permits[i];
+            new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        circuitBreaker.onSuccess(permit, TimeUnit.MILLISECONDS.toNanos(10));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }).start();
+        }
+        start.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+
+        assertEquals(OPEN, circuitBreaker.getState());
+        assertEquals(1, circuitBreaker.getOpenCount());
+        assertEquals(CircuitBreaker.NO_PERMIT, circuitBreaker.tryAcquire());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_non_positive_deadline() throws Exception {
+        new CallbackGuard.Builder(CallbackGuard.Fallback.ACCEPT).deadline(0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_deadline_below_one_millisecond() throws Exception {
+        new CallbackGuard.Builder(CallbackGuard.Fallback.ACCEPT).deadline(500, TimeUnit.MICROSECONDS);
+    }
+
+    @Test
+    public void test_deadline_is_converted_to_milliseconds() throws Exception {
+        final CallbackGuard callbackGuard = new CallbackGuard.Builder(CallbackGuard.Fallback.ACCEPT)
+                .deadline(1500, TimeUnit.MICROSECONDS)
+                .build();
+
+        assertEquals(1, callbackGuard.getDeadlineMillis());
+    }
+
+    private void open() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.onFailure(circuitBreaker.tryAcquire());
+        }
+        assertEquals(OPEN, circuitBreaker.getState());
+    }
+}
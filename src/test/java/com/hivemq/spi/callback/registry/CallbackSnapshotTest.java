@@ -0,0 +1,73 @@
+package com.hivemq.spi.callback.registry;
+
+import com.google.common.collect.ImmutableList;
+import com.hivemq.spi.callback.CallbackPriority;
+import com.hivemq.spi.callback.events.OnPublishReceivedCallback;
+import com.hivemq.spi.message.PUBLISH;
+import com.hivemq.spi.security.ClientData;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CallbackSnapshotTest {
+
+    private final TestCallback low = new TestCallback(CallbackPriority.LOW);
+    private final TestCallback high = new TestCallback(CallbackPriority.HIGH);
+    private final TestCallback otherHigh = new TestCallback(CallbackPriority.HIGH);
+    private final TestCallback critical = new TestCallback(CallbackPriority.CRITICAL);
+
+    @Test
+    public void test_of_sorts_by_priority() throws Exception {
+        final CallbackSnapshot<OnPublishReceivedCallback> snapshot = CallbackSnapshot.of(OnPublishReceivedCallback.class,
+                ImmutableList.of(low, high, critical, otherHigh), 3);
+
+        assertEquals(4, snapshot.size());
+        assertSame(critical, snapshot.get(0));
+        assertSame(high, snapshot.get(1));
+        assertSame(otherHigh, snapshot.get(2));
+        assertSame(low, snapshot.get(3));
+        assertEquals(3, snapshot.getVersion());
+    }
+
+    @Test
+    public void test_with_and_without_are_copy_on_write() throws Exception {
+        final CallbackSnapshot<OnPublishReceivedCallback> empty = CallbackSnapshot.empty(OnPublishReceivedCallback.class);
+
+        final CallbackSnapshot<OnPublishReceivedCallback> snapshot = empty.with(low).with(high).with(critical).with(otherHigh);
+
+        assertTrue(empty.isEmpty());
+        assertEquals(ImmutableList.of(critical, high, otherHigh, low), snapshot.asList());
+        assertEquals(4, snapshot.getVersion());
+
+        final CallbackSnapshot<OnPublishReceivedCallback> removed = snapshot.without(high);
+
+        assertEquals(ImmutableList.of(critical, otherHigh, low), removed.asList());
+        assertEquals(5, removed.getVersion());
+        assertTrue(snapshot.contains(high));
+        assertFalse(removed.contains(high));
+        assertSame(removed, removed.without(high));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_null_callback() throws Exception {
+        CallbackSnapshot.empty(OnPublishReceivedCallback.class).with(null);
+    }
+
+    private static class TestCallback implements OnPublishReceivedCallback {
+
+        private final int priority;
+
+        private TestCallback(final int priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public void onPublishReceived(final PUBLISH publish, final ClientData clientData) {
+        }
+
+        @Override
+        public int priority() {
+            return priority;
+        }
+    }
+}
@@ -56,5 +56,15 @@ public class ScheduleExpressionsTest {
         Assert.assertEquals(ScheduleExpressions.ONCE_A_MINUTE, ScheduleExpressions.everyMinutes(1));
     }
 
+    @Test
+    public void test_every_five_seconds() throws Exception {
+        Assert.assertEquals("0/5 * * * * ?", ScheduleExpressions.everySeconds(5));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_every_seconds_not_divisor_of_minute() throws Exception {
+        ScheduleExpressions.everySeconds(7);
+    }
+
 
 }
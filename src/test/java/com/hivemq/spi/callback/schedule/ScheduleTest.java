@@ -0,0 +1,44 @@
+package com.hivemq.spi.callback.schedule;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ScheduleTest {
+
+    @Test
+    public void test_fixed_rate() throws Exception {
+        final Schedule schedule = Schedule.fixedRate(5, TimeUnit.SECONDS)
+                .jitter(500, TimeUnit.MILLISECONDS)
+                .initialDelay(1, TimeUnit.SECONDS)
+                .build();
+
+        assertEquals(Schedule.Type.FIXED_RATE, schedule.getType());
+        assertEquals(5000, schedule.getPeriodMillis());
+        assertEquals(500, schedule.getJitterMillis());
+        assertEquals(1000, schedule.getInitialDelayMillis());
+        assertEquals(Schedule.OverlapPolicy.SKIP_IF_RUNNING, schedule.getOverlapPolicy());
+    }
+
+    @Test
+    public void test_fixed_delay() throws Exception {
+        final Schedule schedule = Schedule.fixedDelay(10, TimeUnit.MILLISECONDS).build();
+
+        assertEquals(Schedule.Type.FIXED_DELAY, schedule.getType());
+        assertEquals(10, schedule.getPeriodMillis());
+        assertEquals(0, schedule.getJitterMillis());
+        assertEquals(schedule, Schedule.fixedDelay(10, TimeUnit.MILLISECONDS).build());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_period_less_than_a_millisecond() throws Exception {
+        Schedule.fixedRate(999, TimeUnit.MICROSECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_jitter_not_less_than_period() throws Exception {
+        Schedule.fixedRate(1, TimeUnit.SECONDS).jitter(1, TimeUnit.SECONDS).build();
+    }
+}
@@ -0,0 +1,148 @@
+package com.hivemq.spi.message;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class CopyOnWritePUBLISHTest {
+
+    private PUBLISH original;
+
+    @Before
+    public void setUp() throws Exception {
+        original = new PUBLISH(new byte[]{1, 2, 3}, "topic", QoS.AT_LEAST_ONCE);
+        original.setRetain(true);
+    }
+
+    @Test
+    public void test_reads_are_shared() throws Exception {
+        final CopyOnWritePUBLISH first = new CopyOnWritePUBLISH(original);
+        final CopyOnWritePUBLISH second = new CopyOnWritePUBLISH(original);
+
+        assertSame(first.getTopic(), second.getTopic());
+        assertEquals(original.getPayloadBuffer(), first.getPayloadBuffer());
+        assertEquals(QoS.AT_LEAST_ONCE, first.getQoS());
+        assertTrue(first.isRetain());
+        assertFalse(first.isModified());
+        assertSame(original, first.toPUBLISH());
+    }
+
+    @Test
+    public void test_writes_are_not_visible_to_other_subscribers() throws Exception {
+        final CopyOnWritePUBLISH first = new CopyOnWritePUBLISH(original);
+        final CopyOnWritePUBLISH second = new CopyOnWritePUBLISH(original);
+
+        first.setTopic("modified");
+        first.setPayload(new byte[]{4});
+
+        assertEquals("modified", first.getTopic());
+        assertArrayEquals(new byte[]{4}, first.getPayload());
+        assertTrue(first.isModified());
+
+        assertEquals("topic", second.getTopic());
+        assertArrayEquals(new byte[]{1, 2, 3}, second.getPayload());
+        assertEquals("topic", original.getTopic());
+        assertFalse(second.isModified());
+    }
+
+    @Test
+    public void test_payload_buffer() throws Exception {
+        final CopyOnWritePUBLISH publish = new CopyOnWritePUBLISH(original);
+
+        publish.setPayloadBuffer(ByteBuffer.wrap(new byte[]{5, 6}));
+
+        assertTrue(publish.getPayloadBuffer().isReadOnly());
+        assertEquals(2, publish.getPayloadBuffer().remaining());
+        assertArrayEquals(new byte[]{5, 6}, publish.getPayload());
+        assertArrayEquals(new byte[]{1, 2, 3}, original.getPayload());
+    }
+
+    @Test
+    public void test_read_only_access_does_not_copy_payload() throws Exception {
+        final ByteBuffer shared = ByteBuffer.allocateDirect(3);
+        shared.put(new byte[]{1, 2, 3}).flip();
+        final PUBLISH bufferPublish = new PUBLISH(null, "topic", QoS.AT_MOST_ONCE);
+        bufferPublish.setPayloadBuffer(shared);
+        final CopyOnWritePUBLISH publish = new CopyOnWritePUBLISH(bufferPublish);
+
+        final ByteBuffer payloadBuffer = publish.getPayloadBuffer();
+        assertSame(bufferPublish.getTopic(), publish.getTopic());
+        assertTrue(payloadBuffer.isDirect());
+        assertTrue(payloadBuffer.isReadOnly());
+
+        shared.put(0, (byte) 9);
+        assertEquals(9, payloadBuffer.get(0));
+        assertEquals(9, publish.getPayloadBuffer().get(0));
+        assertSame(bufferPublish, publish.toPUBLISH());
+    }
+
+    @Test
+    public void test_payload_is_not_shared() throws Exception {
+        final CopyOnWritePUBLISH first = new CopyOnWritePUBLISH(original);
+        final CopyOnWritePUBLISH second = new CopyOnWritePUBLISH(original);
+
+        final byte[] payload = first.getPayload();
+        assertArrayEquals(new byte[]{1, 2, 3}, payload);
+        assertSame(payload, first.getPayload());
+        payload[0] = 9;
+
+        assertArrayEquals(new byte[]{1, 2, 3}, second.getPayload());
+        assertArrayEquals(new byte[]{1, 2, 3}, original.getPayload());
+    }
+
+    @Test
+    public void test_payload_of_shared_buffer_is_not_shared() throws Exception {
+        final PUBLISH bufferPublish = new PUBLISH(new byte[0], "topic", QoS.AT_MOST_ONCE);
+        bufferPublish.setPayloadBuffer(ByteBuffer.wrap(new byte[]{1, 2}));
+        final CopyOnWritePUBLISH first = new CopyOnWritePUBLISH(bufferPublish);
+        final CopyOnWritePUBLISH second = new CopyOnWritePUBLISH(bufferPublish);
+
+        first.getPayload()[0] = 9;
+
+        assertArrayEquals(new byte[]{1, 2}, second.getPayload());
+        assertNotSame(first.getPayload(), second.getPayload());
+    }
+
+    @Test
+    public void test_copy_copies_payload_buffer() throws Exception {
+        final byte[] bytes = {5, 6};
+        final CopyOnWritePUBLISH publish = new CopyOnWritePUBLISH(original);
+        publish.setPayloadBuffer(ByteBuffer.wrap(bytes));
+
+        final PUBLISH copy = publish.copy();
+        bytes[0] = 9;
+
+        assertArrayEquals(new byte[]{5, 6}, copy.getPayload());
+    }
+
+    @Test
+    public void test_copy_contains_changes() throws Exception {
+        final CopyOnWritePUBLISH publish = new CopyOnWritePUBLISH(original);
+        publish.setTopic("modified");
+
+        final PUBLISH copy = publish.toPUBLISH();
+
+        assertNotSame(original, copy);
+        assertEquals("modified", copy.getTopic());
+        assertArrayEquals(new byte[]{1, 2, 3}, copy.getPayload());
+        assertEquals(QoS.AT_LEAST_ONCE, copy.getQoS());
+        assertTrue(copy.isRetain());
+    }
+
+    @Test
+    public void test_topic_can_be_set_to_null() throws Exception {
+        final CopyOnWritePUBLISH publish = new CopyOnWritePUBLISH(original);
+        publish.setTopic(null);
+
+        assertNull(publish.getTopic());
+        assertTrue(publish.isModified());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_null_original() throws Exception {
+        new CopyOnWritePUBLISH(null);
+    }
+}
@@ -0,0 +1,166 @@
+package com.hivemq.spi.message;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class PUBLISHTest {
+
+    @Test
+    public void test_payload_buffer_is_not_copied() throws Exception {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(4);
+        buffer.put(new byte[]{1, 2, 3, 4});
+        buffer.position(1);
+
+        final PUBLISH publish = new PUBLISH();
+        publish.setPayloadBuffer(buffer);
+        buffer.position(0);
+
+        final ByteBuffer payloadBuffer = publish.getPayloadBuffer();
+        assertTrue(payloadBuffer.isReadOnly());
+        assertTrue(payloadBuffer.isDirect());
+        assertEquals(3, payloadBuffer.remaining());
+        assertEquals(3, publish.getPayloadSize());
+
+        buffer.put(1, (byte) 5);
+        assertEquals(5, payloadBuffer.get(0));
+    }
+
+    @Test
+    public void test_payload_array_is_created_lazily() throws Exception {
+        final PUBLISH publish = new PUBLISH();
+        publish.setPayloadBuffer(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+
+        final byte[] payload = publish.getPayload();
+        assertArrayEquals(new byte[]{1, 2, 3}, payload);
+        assertSame(payload, publish.getPayload());
+        assertEquals(3, publish.getPayloadBuffer().remaining());
+    }
+
+    @Test
+    public void test_changes_of_payload_array_are_visible_in_buffer() throws Exception {
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(3);
+        buffer.put(new byte[]{1, 2, 3}).flip();
+        final PUBLISH publish = new PUBLISH();
+        publish.setPayloadBuffer(buffer);
+
+        publish.getPayload()[0] = 9;
+
+        final ByteBuffer payloadBuffer = publish.getPayloadBuffer();
+        assertEquals(3, payloadBuffer.remaining());
+        assertEquals(9, payloadBuffer.get(0));
+        assertEquals(1, buffer.get(0));
+        assertEquals(3, publish.getPayloadSize());
+    }
+
+    @Test
+    public void test_changes_of_retained_message_array_are_visible_in_buffer() throws Exception {
+        final RetainedMessage retainedMessage = new RetainedMessage("topic", null, QoS.AT_MOST_ONCE);
+        retainedMessage.setMessageBuffer(ByteBuffer.wrap(new byte[]{1, 2}));
+
+        retainedMessage.getMessage()[0] = 9;
+
+        assertEquals(9, retainedMessage.getMessageBuffer().get(0));
+    }
+
+    @Test
+    public void test_payload_array_as_buffer() throws Exception {
+        final PUBLISH publish = new PUBLISH(new byte[]{1, 2}, "topic", QoS.AT_MOST_ONCE);
+
+        final ByteBuffer payloadBuffer = publish.getPayloadBuffer();
+        assertTrue(payloadBuffer.isReadOnly());
+        assertEquals(2, payloadBuffer.remaining());
+        assertEquals(2, publish.getPayloadSize());
+
+        publish.setPayload(new byte[]{1});
+        assertEquals(1, publish.getPayloadBuffer().remaining());
+    }
+
+    @Test
+    public void test_no_payload() throws Exception {
+        final PUBLISH publish = new PUBLISH();
+
+        assertNull(publish.getPayload());
+        assertNull(publish.getPayloadBuffer());
+        assertEquals(0, publish.getPayloadSize());
+
+        publish.setPayloadBuffer(null);
+        assertNull(publish.getPayload());
+    }
+
+    @Test
+    public void test_copy_copies_payload_buffer() throws Exception {
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[]{1, 2, 3});
+        final PUBLISH publish = new PUBLISH();
+        publish.setTopic("topic");
+        publish.setPayloadBuffer(buffer);
+
+        final PUBLISH copy = PUBLISH.copy(publish);
+        buffer.put(0, (byte) 9);
+
+        assertEquals("topic", copy.getTopic());
+        assertEquals(3, copy.getPayloadSize());
+        assertArrayEquals(new byte[]{1, 2, 3}, copy.getPayload());
+    }
+
+    @Test
+    public void test_retained_message_buffer() throws Exception {
+        final RetainedMessage retainedMessage = new RetainedMessage("topic", null, QoS.AT_MOST_ONCE);
+        assertNull(retainedMessage.getMessageBuffer());
+
+        retainedMessage.setMessageBuffer(ByteBuffer.wrap(new byte[]{1, 2}));
+        assertTrue(retainedMessage.getMessageBuffer().isReadOnly());
+        assertArrayEquals(new byte[]{1, 2}, retainedMessage.getMessage());
+
+        retainedMessage.setMessage(new byte[]{3});
+        assertEquals(1, retainedMessage.getMessageBuffer().remaining());
+    }
+
+    @Test
+    public void test_serializable_after_parsed_topic() throws Exception {
+        final PUBLISH publish = new PUBLISH(new byte[]{1}, "a/b", QoS.AT_LEAST_ONCE);
+        assertEquals(2, publish.getParsedTopic().getLevelCount());
+
+        final PUBLISH deserialized = serializeAndDeserialize(publish);
+
+        assertEquals("a/b", deserialized.getTopic());
+        assertEquals(2, deserialized.getParsedTopic().getLevelCount());
+    }
+
+    @Test
+    public void test_serializable_with_payload_buffer() throws Exception {
+        final PUBLISH publish = new PUBLISH();
+        publish.setTopic("topic");
+        publish.setPayloadBuffer(ByteBuffer.wrap(new byte[]{1, 2, 3}).asReadOnlyBuffer());
+
+        final PUBLISH deserialized = serializeAndDeserialize(publish);
+
+        assertArrayEquals(new byte[]{1, 2, 3}, deserialized.getPayload());
+        assertEquals(3, deserialized.getPayloadSize());
+        assertEquals("topic", deserialized.getTopic());
+    }
+
+    @Test
+    public void test_serializable_with_payload_array() throws Exception {
+        final PUBLISH deserialized = serializeAndDeserialize(new PUBLISH(new byte[]{4}, "topic", QoS.AT_MOST_ONCE));
+
+        assertArrayEquals(new byte[]{4}, deserialized.getPayload());
+        assertEquals(QoS.AT_MOST_ONCE, deserialized.getQoS());
+    }
+
+    private static PUBLISH serializeAndDeserialize(final PUBLISH publish) throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(publish);
+        }
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (PUBLISH) in.readObject();
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.google.common.collect.Lists;
 import com.hivemq.spi.callback.security.authorization.AuthorizationBehaviour;
 import com.hivemq.spi.callback.security.authorization.AuthorizationResult;
 import com.hivemq.spi.message.QoS;
+import com.hivemq.spi.message.Topic;
 import com.hivemq.spi.topic.MqttTopicPermission;
 import org.junit.Test;
 
@@ -11,6 +12,7 @@ import java.util.List;
 
 import static com.hivemq.spi.callback.security.authorization.AuthorizationBehaviour.*;
 import static com.hivemq.spi.topic.MqttTopicPermission.*;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 /**
@@ -259,5 +261,59 @@ public class AuthorizationEvaluatorTest {
         assertEquals(DENY, AuthorizationEvaluator.checkSubscription("test/1/2/3", QoS.AT_LEAST_ONCE, authResult));
     }
 
+    @Test
+    public void test_subscribe_batch() throws Exception {
+
+        final AuthorizationResult authResult = new AuthorizationResult() {
+            @Override
+            public List<MqttTopicPermission> getMqttTopicPermissions() {
+                return Lists.newArrayList(
+                        new MqttTopicPermission("test/1/#", TYPE.DENY),
+                        new MqttTopicPermission("test/+", TYPE.ALLOW, QOS.ZERO_ONE)
+                );
+            }
+
+            @Override
+            public AuthorizationBehaviour getDefaultBehaviour() {
+                return NEXT;
+            }
+        };
+
+        final List<Topic> topics = Lists.newArrayList(
+                new Topic("test/1/2", QoS.AT_MOST_ONCE),
+                new Topic("test/2", QoS.AT_LEAST_ONCE),
+                new Topic("test/2", QoS.EXACTLY_ONCE),
+                Topic.topicFromString("test/2"));
+
+        final AuthorizationBehaviour[] expected = {DENY, ACCEPT, NEXT, NEXT};
+
+        assertArrayEquals(expected, AuthorizationEvaluator.checkSubscriptions(topics, authResult));
+        assertArrayEquals(expected, AuthorizationEvaluator.checkSubscriptions(topics,
+                new CachedAuthorizationResult.Builder(authResult).build()));
+        assertEquals(0, AuthorizationEvaluator.checkSubscriptions(Lists.<Topic>newArrayList(), authResult).length);
+    }
+
+    @Test
+    public void test_deny_without_activity_denies_every_activity() throws Exception {
 
-}
\ No newline at end of file
+        final AuthorizationResult authResult = new AuthorizationResult() {
+            @Override
+            public List<MqttTopicPermission> getMqttTopicPermissions() {
+                return Lists.newArrayList(
+                        new MqttTopicPermission("test/#", TYPE.DENY, (ACTIVITY) null),
+                        new MqttTopicPermission("#", TYPE.ALLOW)
+                );
+            }
+
+            @Override
+            public AuthorizationBehaviour getDefaultBehaviour() {
+                return ACCEPT;
+            }
+        };
+
+        assertEquals(DENY, AuthorizationEvaluator.checkPublish("test/1", QoS.AT_LEAST_ONCE, false, authResult));
+        assertEquals(DENY, AuthorizationEvaluator.checkSubscription("test/1", QoS.AT_LEAST_ONCE, authResult));
+        assertEquals(DENY, AuthorizationEvaluator.checkPublish("test/1", QoS.AT_LEAST_ONCE, false, PermissionIndex.of(authResult)));
+        assertEquals(ACCEPT, AuthorizationEvaluator.checkPublish("other", QoS.AT_LEAST_ONCE, false, authResult));
+    }
+}
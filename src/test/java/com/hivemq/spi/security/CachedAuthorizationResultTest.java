@@ -0,0 +1,207 @@
+package com.hivemq.spi.security;
+
+import com.google.common.base.Ticker;
+import com.google.common.collect.Lists;
+import com.hivemq.spi.callback.security.authorization.AuthorizationBehaviour;
+import com.hivemq.spi.callback.security.authorization.AuthorizationResult;
+import com.hivemq.spi.message.QoS;
+import com.hivemq.spi.topic.MqttTopicPermission;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hivemq.spi.callback.security.authorization.AuthorizationBehaviour.*;
+import static com.hivemq.spi.topic.MqttTopicPermission.*;
+import static org.junit.Assert.*;
+
+public class CachedAuthorizationResultTest {
+
+    private CountingAuthorizationResult authorizationResult;
+
+    @Before
+    public void setUp() throws Exception {
+        authorizationResult = new CountingAuthorizationResult(Lists.newArrayList(
+                new MqttTopicPermission("sensor/+/status", TYPE.ALLOW, ACTIVITY.PUBLISH),
+                new MqttTopicPermission("sensor/#", TYPE.DENY)
+        ), NEXT);
+    }
+
+    @Test
+    public void test_decisions() throws Exception {
+
+        final CachedAuthorizationResult cached = new CachedAuthorizationResult.Builder(authorizationResult).build();
+
+        assertEquals(ACCEPT, cached.checkPublish("sensor/1/status", QoS.AT_LEAST_ONCE, false));
+        assertEquals(DENY, cached.checkPublish("sensor/1/data", QoS.AT_LEAST_ONCE, false));
+        assertEquals(DENY, cached.checkSubscription("sensor/1/status", QoS.AT_LEAST_ONCE));
+        assertEquals(NEXT, cached.checkSubscription("other", QoS.AT_LEAST_ONCE));
+
+        assertEquals(4, cached.size());
+        assertEquals(2, cached.getMqttTopicPermissions().size());
+        assertEquals(NEXT, cached.getDefaultBehaviour());
+    }
+
+    @Test
+    public void test_null_qos_returns_default_behaviour_like_uncached_result() throws Exception {
+
+        final CachedAuthorizationResult cached = new CachedAuthorizationResult.Builder(authorizationResult).build();
+
+        assertEquals(AuthorizationEvaluator.checkPublish("sensor/1/status", null, false, authorizationResult),
+                AuthorizationEvaluator.checkPublish("sensor/1/status", null, false, cached));
+        assertEquals(AuthorizationEvaluator.checkSubscription("sensor/1/status", null, authorizationResult),
+                AuthorizationEvaluator.checkSubscription("sensor/1/status", null, cached));
+        assertEquals(NEXT, cached.checkPublish("sensor/1/status", null, false));
+        assertEquals(NEXT, cached.checkSubscription("sensor/1/status", null));
+
+        assertEquals(0, cached.size());
+    }
+
+    @Test
+    public void test_evaluator_uses_cache() throws Exception {
+
+        final CachedAuthorizationResult cached = new CachedAuthorizationResult.Builder(authorizationResult).build();
+
+        assertEquals(ACCEPT, AuthorizationEvaluator.checkPublish("sensor/1/status", QoS.AT_LEAST_ONCE, false, cached));
+        assertEquals(DENY, AuthorizationEvaluator.checkSubscription("sensor/1/status", QoS.AT_LEAST_ONCE, cached));
+
+        assertEquals(2, cached.size());
+        assertSame(cached.getPermissionIndex(), PermissionIndex.of(cached));
+    }
+
+    @Test
+    public void test_permissions_are_only_read_once() throws Exception {
+
+        final CachedAuthorizationResult cached = new CachedAuthorizationResult.Builder(authorizationResult).build();
+
+        for (int i = 0; i < 10; i++) {
+            cached.checkPublish("sensor/1/status", QoS.AT_LEAST_ONCE, false);
+        }
+
+        assertEquals(1, authorizationResult.calls.get());
+        assertEquals(1, cached.size());
+    }
+
+    @Test
+    public void test_key_contains_qos_activity_and_retain() throws Exception {
+
+        final CachedAuthorizationResult cached = new CachedAuthorizationResult.Builder(new CountingAuthorizationResult(
+                Lists.newArrayList(new MqttTopicPermission("a", TYPE.ALLOW, QOS.ONE, ACTIVITY.PUBLISH, RETAIN.RETAINED)), DENY))
+                .build();
+
+        assertEquals(ACCEPT, cached.checkPublish("a", QoS.AT_LEAST_ONCE, true));
+        assertEquals(DENY, cached.checkPublish("a", QoS.AT_LEAST_ONCE, false));
+        assertEquals(DENY, cached.checkPublish("a", QoS.EXACTLY_ONCE, true));
+        assertEquals(DENY, cached.checkSubscription("a", QoS.AT_LEAST_ONCE));
+
+        assertEquals(4, cached.size());
+    }
+
+    @Test
+    public void test_maximum_size() throws Exception {
+
+        final CachedAuthorizationResult cached = new CachedAuthorizationResult.Builder(authorizationResult)
+                .maximumSize(2)
+                .build();
+
+        for (int i = 0; i < 10; i++) {
+            cached.checkPublish("sensor/" + i + "/status", QoS.AT_LEAST_ONCE, false);
+        }
+
+        assertTrue(cached.size() <= 2);
+    }
+
+    @Test
+    public void test_expire_after_write() throws Exception {
+
+        final AtomicLong nanos = new AtomicLong();
+        final CachedAuthorizationResult cached = new CachedAuthorizationResult.Builder(authorizationResult)
+                .expireAfterWrite(10, TimeUnit.SECONDS)
+                .ticker(new Ticker() {
+                    @Override
+                    public long read() {
+                        return nanos.get();
+                    }
+                })
+                .build();
+
+        cached.checkPublish("sensor/1/status", QoS.AT_LEAST_ONCE, false);
+        assertEquals(1, cached.size());
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(5));
+        cached.checkPublish("sensor/2/status", QoS.AT_LEAST_ONCE, false);
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(6));
+        cached.checkPublish("sensor/2/status", QoS.AT_LEAST_ONCE, false);
+
+        assertEquals(1, cached.size());
+    }
+
+    @Test
+    public void test_invalidate() throws Exception {
+
+        final CachedAuthorizationResult cached = new CachedAuthorizationResult.Builder(authorizationResult).build();
+
+        cached.checkPublish("sensor/1/status", QoS.AT_LEAST_ONCE, false);
+        cached.checkPublish("sensor/1/status", QoS.AT_MOST_ONCE, false);
+        cached.checkPublish("sensor/2/status", QoS.AT_LEAST_ONCE, false);
+
+        cached.invalidate("sensor/1/status");
+        assertEquals(1, cached.size());
+
+        cached.invalidate();
+        assertEquals(0, cached.size());
+        assertEquals(ACCEPT, cached.checkPublish("sensor/1/status", QoS.AT_LEAST_ONCE, false));
+    }
+
+    @Test
+    public void test_update_permissions() throws Exception {
+
+        final CachedAuthorizationResult cached = new CachedAuthorizationResult.Builder(authorizationResult).build();
+
+        assertEquals(ACCEPT, cached.checkPublish("sensor/1/status", QoS.AT_LEAST_ONCE, false));
+
+        cached.updatePermissions(new CountingAuthorizationResult(Lists.newArrayList(
+                new MqttTopicPermission("sensor/#", TYPE.DENY)), NEXT));
+
+        assertEquals(0, cached.size());
+        assertEquals(DENY, cached.checkPublish("sensor/1/status", QoS.AT_LEAST_ONCE, false));
+        assertEquals(1, cached.getMqttTopicPermissions().size());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_null_authorization_result() throws Exception {
+        new CachedAuthorizationResult.Builder(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_negative_maximum_size() throws Exception {
+        new CachedAuthorizationResult.Builder(authorizationResult).maximumSize(-1);
+    }
+
+    private static class CountingAuthorizationResult implements AuthorizationResult {
+
+        private final List<MqttTopicPermission> permissions;
+        private final AuthorizationBehaviour defaultBehaviour;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        private CountingAuthorizationResult(final List<MqttTopicPermission> permissions,
+                                            final AuthorizationBehaviour defaultBehaviour) {
+            this.permissions = permissions;
+            this.defaultBehaviour = defaultBehaviour;
+        }
+
+        @Override
+        public List<MqttTopicPermission> getMqttTopicPermissions() {
+            calls.incrementAndGet();
+            return permissions;
+        }
+
+        @Override
+        public AuthorizationBehaviour getDefaultBehaviour() {
+            return defaultBehaviour;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.hivemq.spi.security;
+
+import com.google.common.collect.Lists;
+import com.hivemq.spi.callback.security.authorization.AuthorizationBehaviour;
+import com.hivemq.spi.callback.security.authorization.AuthorizationResult;
+import com.hivemq.spi.message.QoS;
+import com.hivemq.spi.topic.MqttTopicPermission;
+import com.hivemq.spi.topic.ParsedTopic;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hivemq.spi.callback.security.authorization.AuthorizationBehaviour.*;
+import static com.hivemq.spi.topic.MqttTopicPermission.*;
+import static org.junit.Assert.*;
+
+public class PermissionIndexTest {
+
+    private static final String[] PERMISSION_TOPICS = {
+            "#", "+", "a", "a/", "a/b", "a/b/", "a/+", "a/+/", "a/#", "a/#/", "a/+/c", "a/+/#", "+/b/#",
+            "+/+", "+/+/+", "a/b/c", "a/b/c/#", "/#", "/", "//", "a//c", "a/#/c", "a/b#", "a/+b", "#/",
+            "x/y/z", "+/#", "a/b/+/d/#"
+    };
+
+    private static final String[] TOPICS = {
+            "a", "a/", "a/b", "a/b/", "a/b/c", "a/b/c/", "a/b/c/d", "a/x/c", "a/b/x/d/e", "a//c", "/", "//",
+            "/a", "x/y/z", "x", "b", "b/b", "b/b/b", "a/#", "a/+", "#", "+", "a/b/#", "+/b"
+    };
+
+    @Test
+    public void test_of_authorization_result() throws Exception {
+
+        final List<MqttTopicPermission> permissions = Lists.newArrayList(
+                new MqttTopicPermission("test/#", TYPE.ALLOW)
+        );
+
+        final PermissionIndex index = PermissionIndex.of(new AuthorizationResult() {
+            @Override
+            public List<MqttTopicPermission> getMqttTopicPermissions() {
+                return permissions;
+            }
+
+            @Override
+            public AuthorizationBehaviour getDefaultBehaviour() {
+                return DENY;
+            }
+        });
+
+        permissions.clear();
+
+        assertEquals(1, index.getMqttTopicPermissions().size());
+        assertEquals(DENY, index.getDefaultBehaviour());
+        assertFalse(index.isEmpty());
+        assertSame(index, PermissionIndex.of(index));
+    }
+
+    @Test
+    public void test_of_null_list() throws Exception {
+
+        final PermissionIndex index = PermissionIndex.of(null, NEXT);
+
+        assertTrue(index.isEmpty());
+        assertEquals(NEXT, AuthorizationEvaluator.checkPublish("test", QoS.AT_MOST_ONCE, false, index));
+        assertEquals(NEXT, AuthorizationEvaluator.checkSubscription("test", QoS.AT_MOST_ONCE, index));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_of_null_default_behaviour() throws Exception {
+        PermissionIndex.of(new ArrayList<MqttTopicPermission>(), null);
+    }
+
+    @Test
+    public void test_first_match_wins() throws Exception {
+
+        final PermissionIndex index = PermissionIndex.of(Lists.newArrayList(
+                new MqttTopicPermission("test/1/2", TYPE.DENY, ACTIVITY.SUBSCRIBE),
+                new MqttTopicPermission("test/+/2", TYPE.DENY, QOS.TWO),
+                new MqttTopicPermission("test/#", TYPE.ALLOW),
+                new MqttTopicPermission("test/1/2", TYPE.DENY)
+        ), NEXT);
+
+        assertEquals(ACCEPT, AuthorizationEvaluator.checkPublish("test/1/2", QoS.AT_LEAST_ONCE, false, index));
+        assertEquals(DENY, AuthorizationEvaluator.checkPublish("test/1/2", QoS.EXACTLY_ONCE, false, index));
+        assertEquals(DENY, AuthorizationEvaluator.checkSubscription("test/1/2", QoS.AT_LEAST_ONCE, index));
+        assertEquals(NEXT, AuthorizationEvaluator.checkSubscription("other/1/2", QoS.AT_LEAST_ONCE, index));
+    }
+
+    @Test
+    public void test_retained() throws Exception {
+
+        final PermissionIndex index = PermissionIndex.of(Lists.newArrayList(
+                new MqttTopicPermission("test/+", TYPE.DENY, QOS.ALL, ACTIVITY.PUBLISH, RETAIN.RETAINED),
+                new MqttTopicPermission("test/#", TYPE.ALLOW)
+        ), NEXT);
+
+        assertEquals(DENY, AuthorizationEvaluator.checkPublish("test/1", QoS.AT_LEAST_ONCE, true, index));
+        assertEquals(ACCEPT, AuthorizationEvaluator.checkPublish("test/1", QoS.AT_LEAST_ONCE, false, index));
+        assertEquals(ACCEPT, AuthorizationEvaluator.checkSubscription("test/1", QoS.AT_LEAST_ONCE, index));
+    }
+
+    @Test
+    public void test_authorization_result_overload_uses_index() throws Exception {
+
+        final AuthorizationResult index = PermissionIndex.of(Lists.newArrayList(
+                new MqttTopicPermission("test/1/#", TYPE.ALLOW)
+        ), DENY);
+
+        assertEquals(ACCEPT, AuthorizationEvaluator.checkPublish("test/1/2/3", QoS.AT_LEAST_ONCE, false, index));
+        assertEquals(DENY, AuthorizationEvaluator.checkSubscription("test/2", QoS.AT_LEAST_ONCE, index));
+    }
+
+    @Test
+    public void test_same_result_as_linear_evaluation() throws Exception {
+
+        final List<MqttTopicPermission> permissions = new ArrayList<>();
+        final QOS[] qosValues = QOS.values();
+        final ACTIVITY[] activities = ACTIVITY.values();
+        final RETAIN[] retainValues = RETAIN.values();
+
+        int i = 0;
+        for (final String topic : PERMISSION_TOPICS) {
+            permissions.add(new MqttTopicPermission(topic, i % 2 == 0 ? TYPE.ALLOW : TYPE.DENY,
+                    qosValues[i % qosValues.length], activities[i % activities.length], retainValues[i % retainValues.length]));
+            i++;
+        }
+
+        //Check every permission on its own and prefixes of the list, so every permission gets the chance to be the first match
+        for (int end = 1; end <= permissions.size(); end++) {
+            for (int start = 0; start < end; start++) {
+                assertSameResults(permissions.subList(start, end));
+            }
+        }
+    }
+
+    private void assertSameResults(final List<MqttTopicPermission> permissions) {
+
+        final AuthorizationResult linear = new AuthorizationResult() {
+            @Override
+            public List<MqttTopicPermission> getMqttTopicPermissions() {
+                return permissions;
+            }
+
+            @Override
+            public AuthorizationBehaviour getDefaultBehaviour() {
+                return NEXT;
+            }
+        };
+        final PermissionIndex index = PermissionIndex.of(linear);
+
+        for (final String topic : TOPICS) {
+            for (final QoS qoS : QoS.values()) {
+                final String message = topic + " " + qoS + " " + permissions;
+
+                assertEquals(message, AuthorizationEvaluator.checkSubscription(topic, qoS, linear),
+                        AuthorizationEvaluator.checkSubscription(topic, qoS, index));
+                assertEquals(message, AuthorizationEvaluator.checkPublish(topic, qoS, true, linear),
+                        AuthorizationEvaluator.checkPublish(topic, qoS, true, index));
+                assertEquals(message, AuthorizationEvaluator.checkPublish(topic, qoS, false, linear),
+                        AuthorizationEvaluator.checkPublish(topic, qoS, false, index));
+
+                final ParsedTopic parsedTopic = ParsedTopic.of(topic);
+                assertEquals(message, AuthorizationEvaluator.checkSubscription(topic, qoS, linear),
+                        AuthorizationEvaluator.checkSubscription(parsedTopic, qoS, linear));
+                assertEquals(message, AuthorizationEvaluator.checkPublish(topic, qoS, true, linear),
+                        AuthorizationEvaluator.checkPublish(parsedTopic, qoS, true, linear));
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.hivemq.spi.services;
+
+import com.google.common.collect.Lists;
+import com.hivemq.spi.message.QoS;
+import com.hivemq.spi.message.Topic;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class PageTest {
+
+    @Test
+    public void test_next_page() throws Exception {
+        final List<ClientSubscription> items = Lists.newArrayList(
+                new ClientSubscription("client", new Topic("topic", QoS.AT_LEAST_ONCE)));
+
+        final Page<ClientSubscription> page = new Page<>(items, "cursor");
+        items.clear();
+
+        assertEquals(1, page.getItems().size());
+        assertEquals("client", page.getItems().get(0).getClientId());
+        assertEquals("cursor", page.getNextCursor());
+        assertTrue(page.hasNextPage());
+    }
+
+    @Test
+    public void test_last_page() throws Exception {
+        final Page<ClientSubscription> page = new Page<>(Lists.<ClientSubscription>newArrayList(), null);
+
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+        assertFalse(page.hasNextPage());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_items_read_only() throws Exception {
+        new Page<>(Lists.newArrayList("item"), null).getItems().clear();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_null_items() throws Exception {
+        new Page<String>(null, null);
+    }
+}
@@ -0,0 +1,38 @@
+package com.hivemq.spi.services;
+
+import org.junit.Test;
+
+import static com.hivemq.spi.services.PluginExecutorConfiguration.RejectionPolicy.*;
+import static org.junit.Assert.*;
+
+public class PluginExecutorConfigurationTest {
+
+    @Test
+    public void test_defaults() throws Exception {
+        final PluginExecutorConfiguration configuration = new PluginExecutorConfiguration.Builder().build();
+
+        assertEquals(PluginExecutorConfiguration.UNBOUNDED, configuration.getQueueCapacity());
+        assertEquals(FAIL_FAST, configuration.getRejectionPolicy());
+    }
+
+    @Test
+    public void test_builder() throws Exception {
+        final PluginExecutorConfiguration configuration = new PluginExecutorConfiguration.Builder()
+                .queueCapacity(1000)
+                .rejectionPolicy(DROP_OLDEST)
+                .build();
+
+        assertEquals(1000, configuration.getQueueCapacity());
+        assertEquals(DROP_OLDEST, configuration.getRejectionPolicy());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_zero_capacity() throws Exception {
+        new PluginExecutorConfiguration.Builder().queueCapacity(0);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_null_rejection_policy() throws Exception {
+        new PluginExecutorConfiguration.Builder().rejectionPolicy(null);
+    }
+}
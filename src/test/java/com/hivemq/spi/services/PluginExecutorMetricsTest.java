@@ -0,0 +1,20 @@
+package com.hivemq.spi.services;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PluginExecutorMetricsTest {
+
+    @Test
+    public void test_metric_names() throws Exception {
+        assertEquals("com.hivemq.plugin.executor.lanes.3.queue-size", PluginExecutorMetrics.laneQueueSize(3).name());
+        assertEquals("com.hivemq.plugin.executor.priorities.high.queue-size",
+                PluginExecutorMetrics.priorityQueueSize(TaskPriority.HIGH).name());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_negative_lane() throws Exception {
+        PluginExecutorMetrics.laneQueueSize(-1);
+    }
+}
@@ -0,0 +1,71 @@
+package com.hivemq.spi.services;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static com.hivemq.spi.services.PluginExecutorMode.*;
+import static org.junit.Assert.*;
+
+public class PluginExecutorModeTest {
+
+    @After
+    public void tearDown() throws Exception {
+        System.clearProperty(SYSTEM_PROPERTY);
+    }
+
+    @Test
+    public void test_parse() throws Exception {
+        assertEquals(PLATFORM_THREADS, PluginExecutorMode.parse(null));
+        assertEquals(PLATFORM_THREADS, PluginExecutorMode.parse(" "));
+        assertEquals(PLATFORM_THREADS, PluginExecutorMode.parse("Platform"));
+        assertEquals(VIRTUAL_THREADS, PluginExecutorMode.parse("virtual "));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void test_parse_unknown() throws Exception {
+        PluginExecutorMode.parse("green");
+    }
+
+    @Test
+    public void test_falls_back_to_platform_threads() throws Exception {
+        assertEquals(PLATFORM_THREADS, PluginExecutorMode.effective(VIRTUAL_THREADS, false));
+        assertEquals(VIRTUAL_THREADS, PluginExecutorMode.effective(VIRTUAL_THREADS, true));
+        assertEquals(PLATFORM_THREADS, PluginExecutorMode.effective(PLATFORM_THREADS, true));
+    }
+
+    @Test
+    public void test_virtual_threads_not_supported_without_method() throws Exception {
+        assertFalse(PluginExecutorMode.virtualThreadsSupported(Object.class));
+    }
+
+    @Test
+    public void test_virtual_threads_not_supported_if_not_enabled() throws Exception {
+        assertFalse(PluginExecutorMode.virtualThreadsSupported(PreviewThread.class));
+    }
+
+    @Test
+    public void test_virtual_threads_supported_if_builder_is_created() throws Exception {
+        assertTrue(PluginExecutorMode.virtualThreadsSupported(SupportedThread.class));
+    }
+
+    @Test
+    public void test_system_property() throws Exception {
+        System.setProperty(SYSTEM_PROPERTY, "virtual");
+
+        assertEquals(VIRTUAL_THREADS, PluginExecutorMode.configured());
+        assertEquals(PluginExecutorMode.virtualThreadsSupported() ? VIRTUAL_THREADS : PLATFORM_THREADS,
+                PluginExecutorMode.effective());
+    }
+
+    public static class PreviewThread {
+        public static Object ofVirtual() {
+            throw new UnsupportedOperationException("Preview Features not enabled");
+        }
+    }
+
+    public static class SupportedThread {
+        public static Object ofVirtual() {
+            return new Object();
+        }
+    }
+}
@@ -331,7 +331,107 @@ public class MqttTopicPermissionTest {
         assertEquals(RETAIN.RETAINED, test4.getPublishRetain());
     }
 
+    @Test
+    public void test_implies_without_split_topic() throws Exception {
+
+        final String[] topics = {"", "/", "a", "a/", "/a", "a/b", "a/b/", "a//b", "a/b/c", "#", "+", "#/", "a/#",
+                "a/+", "a/+/", "a/#/", "a/+/c", "+/b/#", "a/#/c", "a/b#", "a/+b"};
+
+        for (final String permissionTopic : topics) {
+            final MqttTopicPermission permission = new MqttTopicPermission(permissionTopic, TYPE.ALLOW);
+            for (final String topic : topics) {
+                assertEquals(permissionTopic + " -> " + topic,
+                        permission.implies(topic, split(topic), QoS.AT_LEAST_ONCE, ACTIVITY.PUBLISH),
+                        permission.implies(topic, QoS.AT_LEAST_ONCE, ACTIVITY.PUBLISH));
+            }
+        }
+    }
+
+    @Test
+    public void test_implies_parsed_topic() throws Exception {
+
+        final String[] topics = {"", "/", "a", "a/", "/a", "a/b", "a/b/", "a//b", "a/b/c", "#", "+", "#/", "a/#",
+                "a/+", "a/+/", "a/#/", "a/+/c", "+/b/#", "a/#/c", "a/b#", "a/+b"};
+
+        for (final String permissionTopic : topics) {
+            final MqttTopicPermission permission = new MqttTopicPermission(permissionTopic, TYPE.ALLOW, QOS.ALL, ACTIVITY.ALL, RETAIN.RETAINED);
+            for (final String topic : topics) {
+                //Same semantics as the AuthorizationEvaluator, which strips trailing slashes for the comparison
+                final String stripedTopic = topic.length() > 1 ? StringUtils.stripEnd(topic, "/") : topic;
+                final ParsedTopic parsedTopic = ParsedTopic.of(topic);
+
+                assertEquals(permissionTopic + " -> " + topic,
+                        permission.implies(stripedTopic, split(topic), QoS.AT_LEAST_ONCE, ACTIVITY.SUBSCRIBE),
+                        permission.implies(parsedTopic, QoS.AT_LEAST_ONCE, ACTIVITY.SUBSCRIBE));
+                assertEquals(permissionTopic + " -> " + topic,
+                        permission.implies(stripedTopic, split(topic), QoS.AT_LEAST_ONCE, ACTIVITY.PUBLISH, true),
+                        permission.implies(parsedTopic, QoS.AT_LEAST_ONCE, ACTIVITY.PUBLISH, true));
+                assertFalse(permission.implies(parsedTopic, QoS.AT_LEAST_ONCE, ACTIVITY.PUBLISH, false));
+            }
+        }
+    }
+
     private String[] split(final String topic) {
         return StringUtils.splitPreserveAllTokens(topic, "/");
     }
+
+    @Test
+    public void test_access_mask() throws Exception {
+
+        final MqttTopicPermission permission = new MqttTopicPermission("test", TYPE.ALLOW, QOS.ZERO_TWO, ACTIVITY.PUBLISH, RETAIN.RETAINED);
+
+        assertTrue(permission.impliesAccess(MqttTopicPermission.accessMask(QoS.AT_MOST_ONCE, ACTIVITY.PUBLISH, true)));
+        assertTrue(permission.impliesAccess(MqttTopicPermission.accessMask(QoS.EXACTLY_ONCE, ACTIVITY.PUBLISH, true)));
+        assertTrue(permission.impliesAccess(MqttTopicPermission.accessMask(QoS.EXACTLY_ONCE, ACTIVITY.PUBLISH)));
+        assertFalse(permission.impliesAccess(MqttTopicPermission.accessMask(QoS.AT_LEAST_ONCE, ACTIVITY.PUBLISH, true)));
+        assertFalse(permission.impliesAccess(MqttTopicPermission.accessMask(QoS.AT_MOST_ONCE, ACTIVITY.PUBLISH, false)));
+        assertFalse(permission.impliesAccess(MqttTopicPermission.accessMask(QoS.AT_MOST_ONCE, ACTIVITY.SUBSCRIBE)));
+        assertFalse(permission.impliesAccess(MqttTopicPermission.accessMask(QoS.AT_MOST_ONCE, ACTIVITY.ALL)));
+        assertFalse(permission.impliesAccess(MqttTopicPermission.accessMask(null, ACTIVITY.PUBLISH)));
+        assertFalse(permission.impliesAccess(MqttTopicPermission.accessMask(QoS.AT_MOST_ONCE, null, true)));
+
+        final int accessMask = MqttTopicPermission.accessMask(QoS.AT_MOST_ONCE, ACTIVITY.PUBLISH, true);
+        assertTrue(permission.implies("test", accessMask));
+        assertTrue(permission.implies("test", split("test"), accessMask));
+        assertTrue(permission.implies(ParsedTopic.of("test"), accessMask));
+        assertFalse(permission.implies("other", accessMask));
+        assertFalse(permission.implies((String) null, accessMask));
+        assertFalse(permission.implies((ParsedTopic) null, accessMask));
+    }
+
+    @Test
+    public void test_access_mask_same_result_as_enums() throws Exception {
+
+        for (final QOS permissionQos : QOS.values()) {
+            for (final ACTIVITY permissionActivity : ACTIVITY.values()) {
+                for (final RETAIN permissionRetain : RETAIN.values()) {
+                    final MqttTopicPermission permission = new MqttTopicPermission("#", TYPE.ALLOW, permissionQos, permissionActivity, permissionRetain);
+
+                    for (final QoS qoS : QoS.values()) {
+                        for (final ACTIVITY activity : ACTIVITY.values()) {
+                            final boolean qosImplied = permissionQos.name().contains(QOS.from(qoS).name()) || permissionQos == QOS.ALL;
+                            final boolean activityImplied = permissionActivity == activity || permissionActivity == ACTIVITY.ALL;
+
+                            final String message = permission.getQos() + " " + permission.getActivity() + " " + permission.getPublishRetain() + " " + qoS + " " + activity;
+                            assertEquals(message, qosImplied && activityImplied, permission.implies("a", qoS, activity));
+                            assertEquals(message, qosImplied && activityImplied && permissionRetain != RETAIN.NOT_RETAINED,
+                                    permission.implies("a", qoS, activity, true));
+                            assertEquals(message, qosImplied && activityImplied && permissionRetain != RETAIN.RETAINED,
+                                    permission.implies("a", qoS, activity, false));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void test_null_activity_implies_every_activity() throws Exception {
+        final MqttTopicPermission permission = new MqttTopicPermission("test", TYPE.DENY, QOS.ALL, null);
+
+        assertTrue(permission.implies("test", QoS.AT_MOST_ONCE, ACTIVITY.PUBLISH));
+        assertTrue(permission.implies("test", QoS.AT_MOST_ONCE, ACTIVITY.SUBSCRIBE));
+        assertTrue(permission.implies("test", QoS.EXACTLY_ONCE, ACTIVITY.PUBLISH, true));
+        assertFalse(permission.implies("other", QoS.AT_MOST_ONCE, ACTIVITY.PUBLISH));
+    }
 }
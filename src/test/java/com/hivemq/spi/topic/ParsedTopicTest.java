@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014 dc-square GmbH
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hivemq.spi.topic;
+
+import com.hivemq.spi.message.PUBLISH;
+import com.hivemq.spi.message.QoS;
+import com.hivemq.spi.message.Topic;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ParsedTopicTest {
+
+    @Test
+    public void test_levels_equal_split_topic() throws Exception {
+
+        final String[] topics = {"", "/", "//", "a", "a/", "/a", "a/b", "a//b", "a/b/c/", "+/#", "a/+/c/#"};
+
+        for (final String topic : topics) {
+            final ParsedTopic parsedTopic = ParsedTopic.of(topic);
+            final String[] split = StringUtils.splitPreserveAllTokens(topic, "/");
+
+            assertEquals(topic, split.length, parsedTopic.getLevelCount());
+            assertEquals(topic, Arrays.asList(split), parsedTopic.getLevels());
+            for (int i = 0; i < split.length; i++) {
+                assertEquals(split[i], parsedTopic.getLevel(i));
+                assertEquals(split[i], topic.substring(parsedTopic.getLevelStart(i), parsedTopic.getLevelEnd(i)));
+            }
+        }
+    }
+
+    @Test
+    public void test_stripped_levels() throws Exception {
+
+        assertEquals(2, ParsedTopic.of("a/b//").getStrippedLevelCount());
+        assertEquals(3, ParsedTopic.of("a/b//").getStrippedLength());
+        assertEquals(0, ParsedTopic.of("/").getStrippedLevelCount());
+        assertEquals(2, ParsedTopic.of("/a").getStrippedLevelCount());
+    }
+
+    @Test
+    public void test_wildcards() throws Exception {
+
+        assertFalse(ParsedTopic.of("a/b").containsWildcard());
+        assertTrue(ParsedTopic.of("a/+").containsWildcard());
+        assertFalse(ParsedTopic.of("a/+").containsMultiLevelWildcard());
+        assertTrue(ParsedTopic.of("a/#").containsWildcard());
+        assertTrue(ParsedTopic.of("a/#").containsMultiLevelWildcard());
+    }
+
+    @Test
+    public void test_equals_and_hash_code() throws Exception {
+
+        assertEquals(ParsedTopic.of("a/b"), ParsedTopic.of("a/b"));
+        assertEquals("a/b".hashCode(), ParsedTopic.of("a/b").hashCode());
+        assertNotEquals(ParsedTopic.of("a/b"), ParsedTopic.of("a/b/"));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void test_level_out_of_bounds() throws Exception {
+        ParsedTopic.of("a/b").getLevel(2);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void test_null_topic() throws Exception {
+        ParsedTopic.of(null);
+    }
+
+    @Test
+    public void test_publish_parses_topic_once() throws Exception {
+
+        final PUBLISH publish = new PUBLISH(new byte[0], "a/b", QoS.AT_LEAST_ONCE);
+        final ParsedTopic parsedTopic = publish.getParsedTopic();
+
+        assertSame(parsedTopic, publish.getParsedTopic());
+
+        publish.setTopic("a/c");
+        assertEquals("a/c", publish.getParsedTopic().getTopic());
+
+        publish.setTopic(null);
+        assertNull(publish.getParsedTopic());
+    }
+
+    @Test
+    public void test_topic_parses_topic_once() throws Exception {
+
+        final Topic topic = new Topic("a/+", QoS.AT_LEAST_ONCE);
+
+        assertSame(topic.getParsedTopic(), topic.getParsedTopic());
+        assertTrue(topic.getParsedTopic().containsWildcard());
+    }
+}
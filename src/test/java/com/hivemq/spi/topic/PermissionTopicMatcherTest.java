@@ -16,11 +16,13 @@
 
 package com.hivemq.spi.topic;
 
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ErrorCollector;
 
+import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -137,4 +139,43 @@ public class PermissionTopicMatcherTest {
         assertFalse(topicMatcher.matches("my/+t", "my/t"));
         assertFalse(topicMatcher.matches("my/t+t", "my/ttt"));
     }
+
+    @Test
+    public void test_in_place_matching_equals_tokenized_matching() throws Exception {
+
+        final String[] topics = {"", "/", "//", "a", "a/", "a//", "/a", "a/b", "a/b/", "a//b", "a/b/c", "a/b/c/d",
+                "#", "+", "/#", "#/", "+/", "a/#", "a/+", "a/+/", "a/#/", "a/+/c", "a/+/#", "+/b/#", "+/+", "a#",
+                "a/b#", "a/#b", "a/+b", "a/#/c", "+/#", "my/t+", "my/t#t"};
+
+        for (final String permission : topics) {
+            for (final String actual : topics) {
+                final boolean expected = tokenizedMatch(permission, actual);
+                final String message = permission + " -> " + actual;
+
+                errorCollector.checkThat(message, topicMatcher.matchesInPlace(permission, actual), is(expected));
+                errorCollector.checkThat(message, topicMatcher.matchesInPlace(new StringBuilder(permission), new StringBuilder(actual)),
+                        is(expected));
+                errorCollector.checkThat(message, topicMatcher.matches(ParsedTopic.of(permission), ParsedTopic.of(actual)),
+                        is(expected));
+            }
+        }
+    }
+
+    @Test
+    public void test_in_place_null_actual_topic() throws Exception {
+        assertFalse(topicMatcher.matchesInPlace("#", null));
+    }
+
+    private boolean tokenizedMatch(final String permissionTopic, final String actualTopic) {
+        final String stripedPermissionTopic = StringUtils.stripEnd(permissionTopic, "/");
+        final String stripedActualTopic = StringUtils.stripEnd(actualTopic, "/");
+
+        return topicMatcher.matches(stripedPermissionTopic,
+                StringUtils.splitPreserveAllTokens(stripedPermissionTopic, "/"),
+                StringUtils.containsNone(stripedPermissionTopic, "#+"),
+                StringUtils.endsWith(stripedPermissionTopic, "/#"),
+                stripedPermissionTopic.contains("#"),
+                stripedActualTopic,
+                StringUtils.splitPreserveAllTokens(stripedActualTopic, "/"));
+    }
 }
@@ -0,0 +1,119 @@
+package com.hivemq.spi.topic;
+
+import com.google.common.collect.ImmutableSet;
+import com.hivemq.spi.topic.exception.InvalidTopicException;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TopicFilterTrieTest {
+
+    private TopicFilterTrie<String> trie;
+
+    @Before
+    public void setUp() throws Exception {
+        trie = new TopicFilterTrie<>();
+    }
+
+    @Test
+    public void test_matching() throws Exception {
+        trie.add("alerts/#", "alerts");
+        trie.add("sensor/+/temperature", "temperature");
+        trie.add("sensor/1/temperature", "sensor1");
+        trie.add("#", "all");
+
+        assertEquals(ImmutableSet.of("all", "alerts"), trie.getMatching("alerts"));
+        assertEquals(ImmutableSet.of("all", "alerts"), trie.getMatching("alerts/fire/1"));
+        assertEquals(ImmutableSet.of("all", "sensor1", "temperature"), trie.getMatching("sensor/1/temperature"));
+        assertEquals(ImmutableSet.of("all", "temperature"), trie.getMatching("sensor/2/temperature"));
+        assertEquals(ImmutableSet.of("all"), trie.getMatching("sensor/2/humidity"));
+        assertTrue(trie.getMatching("").isEmpty());
+    }
+
+    @Test
+    public void test_matching_parsed_topic() throws Exception {
+        trie.add("sensor/+/temperature", "temperature");
+        trie.add("$SYS/#", "sys");
+        trie.add("#", "all");
+
+        final ParsedTopic topic = ParsedTopic.of("sensor/1/temperature");
+        assertEquals(trie.getMatching("sensor/1/temperature"), trie.getMatching(topic));
+        assertTrue(trie.matches(topic));
+        assertEquals(ImmutableSet.of("sys"), trie.getMatching(ParsedTopic.of("$SYS/broker")));
+        assertTrue(trie.getMatching(ParsedTopic.of("")).isEmpty());
+        assertFalse(trie.matches(ParsedTopic.of("")));
+    }
+
+    @Test
+    public void test_matches() throws Exception {
+        trie.add("a/+/c", "single");
+        trie.add("b/#", "multi");
+        trie.add("+/status", "dollar");
+
+        assertTrue(trie.matches("a/b/c"));
+        assertTrue(trie.matches("b"));
+        assertTrue(trie.matches("b/c/d"));
+        assertTrue(trie.matches("x/status"));
+        assertFalse(trie.matches("$SYS/status"));
+        assertFalse(trie.matches("a/b/d"));
+        assertFalse(trie.matches("a/b"));
+        assertFalse(trie.matches(""));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void test_matching_is_immutable() throws Exception {
+        trie.add("a", "value");
+
+        trie.getMatching("a").add("other");
+    }
+
+    @Test
+    public void test_wildcards_do_not_match_dollar_topics() throws Exception {
+        trie.add("#", "all");
+        trie.add("+/broker", "single");
+        trie.add("$SYS/#", "sys");
+
+        assertEquals(ImmutableSet.of("sys"), trie.getMatching("$SYS/broker"));
+    }
+
+    @Test
+    public void test_value_is_only_contained_once() throws Exception {
+        trie.add("a/#", "value");
+        trie.add("a/+", "value");
+
+        assertEquals(ImmutableSet.of("value"), trie.getMatching("a/b"));
+    }
+
+    @Test
+    public void test_remove() throws Exception {
+        trie.add("a/b", "first");
+        trie.add("a/b", "second");
+        trie.add("c/#", "first");
+
+        assertTrue(trie.remove("a/b", "first"));
+        assertFalse(trie.remove("a/b", "first"));
+        assertEquals(ImmutableSet.of("second"), trie.getMatching("a/b"));
+
+        assertTrue(trie.removeAll("first"));
+        assertFalse(trie.matches("c/d"));
+
+        assertTrue(trie.remove("a/b", "second"));
+        assertTrue(trie.isEmpty());
+    }
+
+    @Test(expected = InvalidTopicException.class)
+    public void test_multi_level_wildcard_not_last() throws Exception {
+        trie.add("a/#/b", "value");
+    }
+
+    @Test(expected = InvalidTopicException.class)
+    public void test_single_level_wildcard_in_level() throws Exception {
+        trie.add("a/b+", "value");
+    }
+
+    @Test(expected = InvalidTopicException.class)
+    public void test_empty_topic_filter() throws Exception {
+        trie.add("", "value");
+    }
+}